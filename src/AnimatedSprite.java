@@ -0,0 +1,269 @@
+import java.awt.AlphaComposite;
+import java.awt.DisplayMode;
+import java.awt.Graphics2D;
+import java.awt.GraphicsDevice;
+import java.awt.GraphicsEnvironment;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageInputStream;
+
+/**
+ * An animated GIF decoded once at load time into a grid atlas of fully
+ * composited frames, plus the time each frame stays on screen.
+ * Nothing animates by itself: callers pick the frame for a point in time
+ * with frameAt, usually GameClock time plus a per-instance phase.
+ */
+public class AnimatedSprite {
+    // Frames larger than the biggest size a sprite can be drawn at are scaled down when packed
+    private static final int MAX_FRAME_SIZE = maxDrawnSize();
+
+    // Browsers treat delays this short as "unspecified" and use 100 ms
+    private static final int MIN_DELAY_MILLIS = 20;
+    private static final int DEFAULT_DELAY_MILLIS = 100;
+
+    private final BufferedImage atlas;
+    private final int frameWidth;
+    private final int frameHeight;
+    private final int columns;
+    private final int frameCount;
+    // Cumulative end time of each frame within one loop of the animation
+    private final int[] frameEnds;
+
+    private AnimatedSprite(BufferedImage atlas, int frameWidth, int frameHeight, int columns, int[] frameEnds) {
+        this.atlas = atlas;
+        this.frameWidth = frameWidth;
+        this.frameHeight = frameHeight;
+        this.columns = columns;
+        this.frameCount = frameEnds.length;
+        this.frameEnds = frameEnds;
+    }
+
+    /**
+     * The boss drawn on the largest attached screen (or fixed internal
+     * resolution), so downscaled frames are never scaled back up.
+     * Without a screen to go by frames are kept at full resolution.
+     */
+    private static int maxDrawnSize() {
+        double maxScale = 0;
+        if (Constants.internalRenderWidth > 0 && Constants.internalRenderHeight > 0) {
+            maxScale = Math.min(Constants.internalRenderWidth / (double) Constants.WIDTH,
+                Constants.internalRenderHeight / (double) Constants.HEIGHT);
+        } else if (!GraphicsEnvironment.isHeadless()) {
+            for (GraphicsDevice device : GraphicsEnvironment.getLocalGraphicsEnvironment().getScreenDevices()) {
+                // Device pixels, never fewer than the panel's own
+                DisplayMode mode = device.getDisplayMode();
+                maxScale = Math.max(maxScale, Math.min(mode.getWidth() / (double) Constants.WIDTH,
+                    mode.getHeight() / (double) Constants.HEIGHT));
+            }
+            maxScale *= Math.max(1, Constants.internalRenderScale);
+        }
+        if (maxScale <= 0) {
+            return Integer.MAX_VALUE;
+        }
+        return (int) Math.ceil(Constants.BOSS_MONSTER_SIZE * maxScale);
+    }
+
+    /**
+     * Decodes a GIF from the classpath, honoring frame offsets, disposal methods and delays
+     * @throws IOException if the resource is missing or cannot be decoded
+     */
+    public static AnimatedSprite load(String resourcePath) throws IOException {
+        InputStream stream = AnimatedSprite.class.getResourceAsStream(resourcePath);
+        if (stream == null) {
+            throw new IOException("Resource not found: " + resourcePath);
+        }
+
+        Iterator<ImageReader> readers = ImageIO.getImageReadersByFormatName("gif");
+        if (!readers.hasNext()) {
+            stream.close();
+            throw new IOException("No GIF decoder available");
+        }
+        ImageReader reader = readers.next();
+
+        try (ImageInputStream input = ImageIO.createImageInputStream(stream)) {
+            reader.setInput(input, false);
+            int count = reader.getNumImages(true);
+            if (count <= 0) {
+                throw new IOException("No frames in " + resourcePath);
+            }
+
+            int canvasWidth = 0;
+            int canvasHeight = 0;
+            IIOMetadata streamMetadata = reader.getStreamMetadata();
+            if (streamMetadata != null) {
+                IIOMetadataNode screen = child(streamMetadata.getAsTree("javax_imageio_gif_stream_1.0"),
+                    "LogicalScreenDescriptor");
+                if (screen != null) {
+                    canvasWidth = intAttribute(screen, "logicalScreenWidth", 0);
+                    canvasHeight = intAttribute(screen, "logicalScreenHeight", 0);
+                }
+            }
+            if (canvasWidth <= 0 || canvasHeight <= 0) {
+                canvasWidth = reader.getWidth(0);
+                canvasHeight = reader.getHeight(0);
+            }
+
+            // Frames go into a near-square grid, scaled down to MAX_FRAME_SIZE if they are bigger
+            double scale = Math.min(1.0, MAX_FRAME_SIZE / (double) Math.max(canvasWidth, canvasHeight));
+            int frameWidth = Math.max(1, (int) Math.round(canvasWidth * scale));
+            int frameHeight = Math.max(1, (int) Math.round(canvasHeight * scale));
+            int columns = (int) Math.ceil(Math.sqrt(count));
+            int rows = (count + columns - 1) / columns;
+
+            BufferedImage atlas = ImageUtils.createCompatibleImage(columns * frameWidth, rows * frameHeight,
+                Transparency.TRANSLUCENT);
+            Graphics2D atlasGraphics = atlas.createGraphics();
+            atlasGraphics.setComposite(AlphaComposite.Src);
+            atlasGraphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            atlasGraphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+
+            // Compose every frame onto a canvas the way a browser would
+            BufferedImage canvas = new BufferedImage(canvasWidth, canvasHeight, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D canvasGraphics = canvas.createGraphics();
+            int[] frameEnds = new int[count];
+            int elapsed = 0;
+
+            String previousDisposal = "none";
+            int previousX = 0, previousY = 0, previousWidth = 0, previousHeight = 0;
+            BufferedImage restoreSnapshot = null;
+
+            for (int i = 0; i < count; i++) {
+                BufferedImage raw = reader.read(i);
+                IIOMetadataNode metadata = (IIOMetadataNode) reader.getImageMetadata(i)
+                    .getAsTree("javax_imageio_gif_image_1.0");
+                IIOMetadataNode descriptor = child(metadata, "ImageDescriptor");
+                IIOMetadataNode control = child(metadata, "GraphicControlExtension");
+
+                int x = intAttribute(descriptor, "imageLeftPosition", 0);
+                int y = intAttribute(descriptor, "imageTopPosition", 0);
+                String disposal = (control != null) ? control.getAttribute("disposalMethod") : "none";
+                int delay = intAttribute(control, "delayTime", 0) * 10;
+
+                // Undo the previous frame as its disposal method asks
+                if ("restoreToBackgroundColor".equals(previousDisposal)) {
+                    canvasGraphics.setComposite(AlphaComposite.Clear);
+                    canvasGraphics.fillRect(previousX, previousY, previousWidth, previousHeight);
+                    canvasGraphics.setComposite(AlphaComposite.SrcOver);
+                } else if ("restoreToPrevious".equals(previousDisposal) && restoreSnapshot != null) {
+                    canvasGraphics.setComposite(AlphaComposite.Src);
+                    canvasGraphics.drawImage(restoreSnapshot, 0, 0, null);
+                    canvasGraphics.setComposite(AlphaComposite.SrcOver);
+                }
+
+                if ("restoreToPrevious".equals(disposal)) {
+                    restoreSnapshot = copyOf(canvas);
+                }
+
+                canvasGraphics.drawImage(raw, x, y, null);
+                int cellX = (i % columns) * frameWidth;
+                int cellY = (i / columns) * frameHeight;
+                atlasGraphics.drawImage(canvas, cellX, cellY, frameWidth, frameHeight, null);
+
+                elapsed += (delay < MIN_DELAY_MILLIS) ? DEFAULT_DELAY_MILLIS : delay;
+                frameEnds[i] = elapsed;
+
+                previousDisposal = disposal;
+                previousX = x;
+                previousY = y;
+                previousWidth = raw.getWidth();
+                previousHeight = raw.getHeight();
+            }
+            canvasGraphics.dispose();
+            atlasGraphics.dispose();
+
+            return new AnimatedSprite(atlas, frameWidth, frameHeight, columns, frameEnds);
+        } finally {
+            reader.dispose();
+            stream.close();
+        }
+    }
+
+    /**
+     * @return The frame showing at the given time; the animation loops forever
+     */
+    public int frameAt(long millis) {
+        if (frameCount == 1) {
+            return 0;
+        }
+        long t = Math.floorMod(millis, (long) frameEnds[frameCount - 1]);
+
+        // First frame whose end time is after t
+        int low = 0;
+        int high = frameCount - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (frameEnds[mid] <= t) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Draws one frame stretched to the given rectangle
+     */
+    public void drawFrame(Graphics2D g, int frame, int x, int y, int width, int height) {
+        int sourceX = (frame % columns) * frameWidth;
+        int sourceY = (frame / columns) * frameHeight;
+        g.drawImage(atlas, x, y, x + width, y + height,
+            sourceX, sourceY, sourceX + frameWidth, sourceY + frameHeight, null);
+    }
+
+    public int getFrameCount() {
+        return frameCount;
+    }
+
+    public int getWidth() {
+        return frameWidth;
+    }
+
+    public int getHeight() {
+        return frameHeight;
+    }
+
+    /**
+     * @return Length of one loop of the animation in milliseconds
+     */
+    public int getDuration() {
+        return frameEnds[frameCount - 1];
+    }
+
+    private static BufferedImage copyOf(BufferedImage image) {
+        BufferedImage copy = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = copy.createGraphics();
+        g.setComposite(AlphaComposite.Src);
+        g.drawImage(image, 0, 0, null);
+        g.dispose();
+        return copy;
+    }
+
+    private static IIOMetadataNode child(org.w3c.dom.Node parent, String name) {
+        for (org.w3c.dom.Node node = parent.getFirstChild(); node != null; node = node.getNextSibling()) {
+            if (name.equals(node.getNodeName())) {
+                return (IIOMetadataNode) node;
+            }
+        }
+        return null;
+    }
+
+    private static int intAttribute(IIOMetadataNode node, String name, int fallback) {
+        if (node == null) {
+            return fallback;
+        }
+        try {
+            return Integer.parseInt(node.getAttribute(name));
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+}
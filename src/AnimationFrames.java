@@ -0,0 +1,78 @@
+import java.awt.image.BufferedImage;
+import java.net.URL;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.imageio.ImageIO;
+
+/**
+ * A numbered PNG frame sequence decoded once, handing out copies scaled to
+ * any requested size. Scaled sets are cached per size, so resizing never
+ * goes back to disk and never returns a half-loaded image.
+ */
+public class AnimationFrames {
+    // Sizes kept scaled at once; the game only ever uses one or two
+    private static final int MAX_CACHED_SIZES = 4;
+
+    private final BufferedImage[] sources;
+    private final Map<Long, BufferedImage[]> scaled = new LinkedHashMap<Long, BufferedImage[]>(8, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, BufferedImage[]> eldest) {
+            return size() > MAX_CACHED_SIZES;
+        }
+    };
+
+    private AnimationFrames(BufferedImage[] sources) {
+        this.sources = sources;
+    }
+
+    /**
+     * Loads pathPrefix + 1 + ".png" through pathPrefix + count + ".png" from the classpath.
+     * Frames that fail to load are left null and reported.
+     */
+    public static AnimationFrames load(String name, String pathPrefix, int count) {
+        BufferedImage[] sources = new BufferedImage[count];
+        for (int i = 0; i < count; i++) {
+            String path = pathPrefix + (i + 1) + ".png";
+            try {
+                URL url = AnimationFrames.class.getResource(path);
+                if (url == null) {
+                    System.out.println("Warning: " + name + " frame " + (i + 1) + " not found: " + path);
+                    continue;
+                }
+                sources[i] = ImageIO.read(url);
+                if (sources[i] == null) {
+                    System.out.println("Warning: " + name + " frame " + (i + 1) + " could not be decoded");
+                }
+            } catch (Exception e) {
+                System.out.println("Failed to load " + name + " frame " + (i + 1) + ": " + e.getMessage());
+            }
+        }
+        return new AnimationFrames(sources);
+    }
+
+    public int getFrameCount() {
+        return sources.length;
+    }
+
+    /**
+     * @return Every frame scaled to width x height; missing frames stay null.
+     * The array is shared between callers and must not be modified.
+     */
+    public synchronized BufferedImage[] getScaled(int width, int height) {
+        width = Math.max(1, width);
+        height = Math.max(1, height);
+        Long key = ((long) width << 32) | height;
+
+        BufferedImage[] frames = scaled.get(key);
+        if (frames == null) {
+            frames = new BufferedImage[sources.length];
+            for (int i = 0; i < sources.length; i++) {
+                if (sources[i] != null) {
+                    frames[i] = ImageUtils.scaleProgressive(sources[i], width, height);
+                }
+            }
+            scaled.put(key, frames);
+        }
+        return frames;
+    }
+}
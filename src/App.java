@@ -1,9 +1,6 @@
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
-import javax.swing.border.Border;
 import java.awt.*;
-import java.awt.event.ComponentAdapter;
-import java.awt.event.ComponentEvent;
 
 public class App extends JFrame implements GameController.GameEventListener {
     private CardLayout cardLayout;
@@ -17,6 +14,14 @@ public class App extends JFrame implements GameController.GameEventListener {
     private static final Color BUTTON_NORMAL_COLOR = new Color(60, 60, 150);
     private static final Color BUTTON_PRESSED_COLOR = new Color(50, 50, 120);
     
+    // Text file for book practice mode, set with --book <file>
+    private static String bookFile;
+    
+    // Letter drill for the word lists, built from --letters and --drill once all flags are read
+    private static String allowedLetters;
+    private static String drillLetters;
+    private static WordIndex.Query wordQuery;
+    
     // Animation properties
     private static final int ANIMATION_DURATION = 200; // milliseconds
     private static final int ANIMATION_STEPS = 10;
@@ -50,6 +55,40 @@ public class App extends JFrame implements GameController.GameEventListener {
         // Add main panel to frame
         add(mainPanel);
 
+        // Closing the window is the usual way to quit, so remember the book position then
+        addWindowListener(new java.awt.event.WindowAdapter() {
+            @Override
+            public void windowClosing(java.awt.event.WindowEvent e) {
+                if (gameController != null) {
+                    gameController.closeBook();
+                }
+            }
+        });
+
+        // The word lists load in the background; warn once they are in
+        AssetPreloader.whenDone(this::checkWordLists);
+        AssetPreloader.whenDone(this::checkWordQuery);
+    }
+    
+    // Warns about difficulty levels the letter drill leaves without words
+    private void checkWordQuery() {
+        if (wordQuery == null) {
+            return;
+        }
+        String[] names = { "easy", "medium", "hard" };
+        int[] levels = { Constants.DIFFICULTY_EASY, Constants.DIFFICULTY_MEDIUM, Constants.DIFFICULTY_HARD };
+        StringBuilder empty = new StringBuilder();
+        for (int i = 0; i < levels.length; i++) {
+            if (Constants.DIFFICULTY_INDEX.get(levels[i]).count(wordQuery) == 0) {
+                empty.append(empty.length() > 0 ? ", " : "").append(names[i]);
+            }
+        }
+        if (empty.length() > 0) {
+            System.out.println("No " + empty + " words match --letters/--drill, those levels spawn any word instead");
+        }
+    }
+    
+    private void checkWordLists() {
         boolean easyWordsLoaded = Constants.DIFFICULTY_WORDS.get(Constants.DIFFICULTY_EASY).length > 0;
         boolean mediumWordsLoaded = Constants.DIFFICULTY_WORDS.get(Constants.DIFFICULTY_MEDIUM).length > 0;
         boolean hardWordsLoaded = Constants.DIFFICULTY_WORDS.get(Constants.DIFFICULTY_HARD).length > 0;
@@ -82,6 +121,11 @@ public class App extends JFrame implements GameController.GameEventListener {
             gameController = new GameController();
             gameController.setGameEventListener(this);
             
+            if (bookFile != null) {
+                openBook(bookFile);
+            }
+            gameController.setWordQuery(wordQuery);
+            
             // Create and set up game panels
             GamePanel gamePanel = new GamePanel(gameController);
             gameContainer.add(gamePanel, BorderLayout.CENTER);
@@ -90,27 +134,8 @@ public class App extends JFrame implements GameController.GameEventListener {
             JPanel topPanel = createTopPanel();
             gameContainer.add(topPanel, BorderLayout.NORTH);
             
-            // Create input field panel
-            JPanel inputPanel = createInputPanel();
-            gameContainer.add(inputPanel, BorderLayout.SOUTH);
-            
-            // Make the input field resize properly when window is resized
-            gameContainer.addComponentListener(new ComponentAdapter() {
-                @Override
-                public void componentResized(ComponentEvent e) {
-                    // Calculate appropriate width based on current window size
-                    // This ensures the input field stays proportional to the window
-                    int windowWidth = gameContainer.getWidth();
-                    int inputWidth = Math.min(400, windowWidth / 2);
-                    
-                    // Ensure minimum width
-                    inputWidth = Math.max(inputWidth, 200);
-                    
-                    JTextField inputField = gameController.getInputField();
-                    inputField.setPreferredSize(new Dimension(inputWidth, 50));
-                    inputPanel.revalidate();
-                }
-            });
+            // The input field only collects keystrokes; the HUD draws the typed line
+            gameContainer.add(createInputPanel(), BorderLayout.SOUTH);
         } else {
             gameController.resetGame();
         }
@@ -120,24 +145,23 @@ public class App extends JFrame implements GameController.GameEventListener {
         gameController.startGame();
     }
     
+    private void openBook(String file) {
+        try {
+            gameController.setBookStream(new BookWordStream(java.nio.file.Paths.get(file)));
+        } catch (java.io.IOException | java.nio.file.InvalidPathException e) {
+            JOptionPane.showMessageDialog(this, 
+                "Failed to open book file '" + file + "': " + e.getMessage(), 
+                "Error Loading Book", 
+                JOptionPane.WARNING_MESSAGE);
+        }
+    }
+    
     private JPanel createTopPanel() {
         JPanel topPanel = new JPanel(new BorderLayout(10, 0));
         topPanel.setBackground(new Color(20, 20, 30)); 
         topPanel.setBorder(new EmptyBorder(10, 15, 10, 15));
         
-        // Score display on left
-        JPanel scorePanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
-        scorePanel.setOpaque(false);
-        scorePanel.add(gameController.getScoreLabel());
-        scorePanel.add(Box.createHorizontalStrut(20)); 
-        scorePanel.add(gameController.getLivesLabel());
-        
-        // Style the score and lives labels
-        Font labelFont = new Font("Arial", Font.BOLD, 16);
-        gameController.getScoreLabel().setFont(labelFont);
-        gameController.getLivesLabel().setFont(labelFont);
-        gameController.getScoreLabel().setForeground(new Color(255, 255, 100)); 
-        gameController.getLivesLabel().setForeground(new Color(100, 255, 100)); 
+        // Score and lives are drawn in the game frame by the HUD
         
         // Back button on right
         JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
@@ -239,129 +263,31 @@ public class App extends JFrame implements GameController.GameEventListener {
         
         buttonPanel.add(backButton);
         
-        topPanel.add(scorePanel, BorderLayout.WEST);
         topPanel.add(buttonPanel, BorderLayout.EAST);
         
         return topPanel;
     }
     
     private JPanel createInputPanel() {
-        JPanel inputPanel = new JPanel();
-        inputPanel.setLayout(new BoxLayout(inputPanel, BoxLayout.Y_AXIS));
-        inputPanel.setOpaque(false); 
-        inputPanel.setBorder(new EmptyBorder(0, 0, 30, 0)); // bottom padding
+        JPanel inputPanel = new JPanel(new BorderLayout());
+        inputPanel.setOpaque(false);
         
-        // Get and customize input field
+        // Keep the field showing so it can hold focus, but give it no size and
+        // paint nothing, so typing never repaints or lays out Swing components
         JTextField inputField = gameController.getInputField();
-        styleInputField(inputField);
-
-        // Create a custom panel that wraps the input field and draws indicators
-        JPanel indicatorPanel = new JPanel(new BorderLayout()) {
-            @Override
-            protected void paintComponent(Graphics g) {
-                super.paintComponent(g);
-                Graphics2D g2 = (Graphics2D) g.create();
-                g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-                
-                if (gameController != null) {
-                    int indicatorSize = 10;
-                    // Position relative to the input field's border
-                    int indicatorX = 5;  // Inside the border
-                    int indicatorY = 5;  // Inside the border
-                    
-                    // Keyboard jam indicator (red)
-                    if (gameController.isKeyboardJammed()) {
-                        // Draw main indicator
-                        g2.setColor(new Color(255, 0, 0, 255));
-                        g2.fillOval(indicatorX, indicatorY, indicatorSize, indicatorSize);
-                    }
-                    
-                    // Input scramble indicator (blue)
-                    if (gameController.isInputScrambled()) {
-                        // Draw main indicator
-                        g2.setColor(new Color(0, 0, 255, 255));
-                        g2.fillOval(indicatorX, indicatorY, indicatorSize, indicatorSize);
-                    }
-                }
-                
-                g2.dispose();
-            }
-        };
-        
-        indicatorPanel.setOpaque(false);
-        indicatorPanel.setBorder(BorderFactory.createEmptyBorder(2, 2, 2, 2)); // Match input field border
-        indicatorPanel.add(inputField, BorderLayout.CENTER);
-        
-        JPanel centerPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
-        centerPanel.setOpaque(false);
-        centerPanel.add(indicatorPanel);
-        
-        inputPanel.add(Box.createVerticalGlue());
-        inputPanel.add(centerPanel);
-        
-        return inputPanel;
-    }
-    
-    private void styleInputField(JTextField inputField) {
-        Font inputFont = new Font("Consolas", Font.BOLD, 16);
-        inputField.setFont(inputFont);
         inputField.setOpaque(false);
-        
-        // Create a custom border that changes color based on monster abilities
-        inputField.setBorder(BorderFactory.createCompoundBorder(
-            new Border() {
-                @Override
-                public void paintBorder(Component c, Graphics g, int x, int y, int width, int height) {
-                    Graphics2D g2 = (Graphics2D) g.create();
-                    g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-                    
-                    if (gameController != null) {
-                        if (gameController.isKeyboardJammed()) {
-                            g2.setColor(new Color(255, 0, 0, 200));
-                        } else if (gameController.isInputScrambled()) {
-                            g2.setColor(new Color(0, 0, 255, 200));
-                        } else {
-                            g2.setColor(new Color(100, 100, 255, 100));
-                        }
-                    } else {
-                        g2.setColor(new Color(100, 100, 255, 100));
-                    }
-                    
-                    g2.setStroke(new BasicStroke(2));
-                    g2.drawRoundRect(x, y, width - 1, height - 1, 10, 10);
-                    g2.dispose();
-                }
-                
-                @Override
-                public Insets getBorderInsets(Component c) {
-                    return new Insets(2, 2, 2, 2);
-                }
-                
-                @Override
-                public boolean isBorderOpaque() {
-                    return false;
-                }
-            },
-            BorderFactory.createEmptyBorder(5, 10, 5, 10)
-        ));
-
-        inputField.setForeground(new Color(255, 255, 255));
-        inputField.setCaretColor(Color.WHITE);
-        inputField.setPreferredSize(new Dimension(400, 50));
-        inputField.setMinimumSize(new Dimension(200, 50));
+        inputField.setBorder(BorderFactory.createEmptyBorder());
+        inputField.setPreferredSize(new Dimension(0, 0));
+        inputField.getCaret().setBlinkRate(0);
         inputField.setUI(new javax.swing.plaf.basic.BasicTextFieldUI() {
             @Override
-            protected void paintBackground(Graphics g) {
-                Graphics2D g2 = (Graphics2D) g.create();
-                g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-                
-                // Draw base background
-                g2.setColor(new Color(50, 50, 80, 80));
-                g2.fillRoundRect(0, 0, inputField.getWidth(), inputField.getHeight(), 10, 10);
-                
-                g2.dispose();
+            protected void paintSafely(Graphics g) {
+                // The HUD draws the typed line
             }
         });
+        inputPanel.add(inputField, BorderLayout.CENTER);
+        
+        return inputPanel;
     }
     
     private void returnToMenu() {
@@ -379,7 +305,104 @@ public class App extends JFrame implements GameController.GameEventListener {
         returnToMenu();
     }
     
+    private static void parseInternalResolution(String value) {
+        try {
+            int separator = value.toLowerCase().indexOf('x');
+            if (separator > 0) {
+                Constants.internalRenderWidth = Integer.parseInt(value.substring(0, separator));
+                Constants.internalRenderHeight = Integer.parseInt(value.substring(separator + 1));
+            } else {
+                Constants.internalRenderScale = Double.parseDouble(value);
+            }
+        } catch (NumberFormatException e) {
+            System.out.println("Ignoring invalid --internal-resolution value: " + value);
+        }
+    }
+    
+    /**
+     * Builds the letter drill from --letters and --drill, whatever order they came in.
+     * Drill letters that --letters leaves out are allowed too, since asking for them wins.
+     */
+    private static void buildWordQuery() {
+        if (allowedLetters == null && drillLetters == null) {
+            return;
+        }
+        wordQuery = new WordIndex.Query();
+        if (allowedLetters != null) {
+            String allowed = allowedLetters.toLowerCase();
+            if (drillLetters != null) {
+                StringBuilder missing = new StringBuilder();
+                for (char c : drillLetters.toLowerCase().toCharArray()) {
+                    if (Character.isLetter(c) && allowed.indexOf(c) < 0 && missing.indexOf(String.valueOf(c)) < 0) {
+                        missing.append(c);
+                    }
+                }
+                if (missing.length() > 0) {
+                    System.out.println("--drill letters \"" + missing + "\" are not in --letters, allowing them as well");
+                    allowed += missing;
+                }
+            }
+            wordQuery.allowOnlyLetters(allowed);
+        }
+        if (drillLetters != null) {
+            wordQuery.requireLetters(drillLetters);
+        }
+    }
+    
     public static void main(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.equals("--book") && i + 1 < args.length) {
+                // Practice on the words of any text file, in order
+                bookFile = args[++i];
+            } else if (arg.equals("--pseudo-words")) {
+                // Endless generated words instead of the bundled word lists
+                Constants.currentWordSource = Constants.WORD_SOURCE_PSEUDO;
+            } else if (arg.equals("--letters") && i + 1 < args.length) {
+                // Only words made of these letters, e.g. the home row
+                allowedLetters = (allowedLetters == null ? "" : allowedLetters) + args[++i];
+            } else if (arg.equals("--drill") && i + 1 < args.length) {
+                // Only words containing every one of these letters
+                drillLetters = (drillLetters == null ? "" : drillLetters) + args[++i];
+            } else if (arg.equals("--prefix-disjoint")) {
+                // Every monster on screen starts with a different letter
+                Constants.prefixDisjointWords = true;
+            } else if (arg.equals("--internal-resolution") && i + 1 < args.length) {
+                // Render at a fixed size (e.g. 800x700) or a multiple of the window (e.g. 0.5)
+                parseInternalResolution(args[++i]);
+            } else if (arg.equals("--pixelated")) {
+                // Scale the internal resolution up without smoothing
+                Constants.pixelatedUpscale = true;
+            } else if (arg.equals("--dirty-rects")) {
+                // Redraw only what changed each frame
+                Constants.dirtyRectRendering = true;
+            } else if (arg.equals("--parallel-layers")) {
+                // Rasterize scene layers on worker threads
+                Constants.parallelLayerRendering = true;
+            } else if (arg.equals("--quality") && i + 1 < args.length) {
+                // Lock the render quality tier (0 = full ... 4 = minimal) instead of adapting
+                String value = args[++i];
+                try {
+                    RenderQuality.setFixedTier(Integer.parseInt(value));
+                } catch (NumberFormatException e) {
+                    System.out.println("Ignoring invalid --quality value: " + value);
+                }
+            } else if (arg.equals("--audio-buffer") && i + 1 < args.length) {
+                // Output buffer size in frames; smaller means sounds are heard sooner
+                String value = args[++i];
+                try {
+                    Constants.audioBufferFrames = Integer.parseInt(value);
+                } catch (NumberFormatException e) {
+                    System.out.println("Ignoring invalid --audio-buffer value: " + value);
+                }
+            }
+        }
+        
+        buildWordQuery();
+        
+        // Decode images, sounds and word lists while the menu comes up
+        AssetPreloader.start();
+        
         SwingUtilities.invokeLater(() -> {
             App app = new App();
             app.setVisible(true);
@@ -0,0 +1,196 @@
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.imageio.ImageIO;
+import javax.swing.SwingUtilities;
+
+/**
+ * Loads the game's images, sounds and word lists on a pool of worker
+ * threads while the main menu is showing, so starting a game does not stall
+ * the UI. Classes that used to load their assets themselves ask for them
+ * here: an asset that is done is handed over at once, one still loading is
+ * waited for, and one that was never queued (e.g. preloading never started)
+ * is loaded on the spot.
+ */
+public class AssetPreloader {
+    // Loaded assets by kind and path; values are the pending loads
+    private static final Map<String, Future<?>> assets = new ConcurrentHashMap<>();
+    private static final List<Runnable> doneActions = new ArrayList<>();
+    private static final AtomicInteger completed = new AtomicInteger();
+    private static int total = 0;
+    private static boolean started = false;
+
+    /**
+     * Queues every asset the menu and the game need; called once at startup
+     */
+    public static synchronized void start() {
+        if (started) {
+            return;
+        }
+        started = true;
+
+        // In submission order; the total must be known before the first one can finish
+        Map<String, Callable<?>> loads = new LinkedHashMap<>();
+
+        // Sprites and frames first: the class loads below wait for them,
+        // so they must already be running by the time those start
+        for (String path : new String[] {
+                "/assets/MonsterTyper_Zombie.gif", "/assets/Bat.gif", "/assets/MonsterTyper_Boss.gif",
+                "/assets/MonsterTyper_JamMonster.gif", "/assets/MonsterTyper_Life.gif",
+                "/assets/MonsterTyper_Reverse.gif", "/assets/Shooter.gif" }) {
+            loads.put("sprite:" + path, () -> AnimatedSprite.load(path));
+        }
+        loads.put(frameKey("/assets/Laser/Laser_Beam", 14),
+            () -> AnimationFrames.load("Laser Beam", "/assets/Laser/Laser_Beam", 14));
+        loads.put(frameKey("/assets/Explosion/Explosion", 12),
+            () -> AnimationFrames.load("Explosion", "/assets/Explosion/Explosion", 12));
+        for (String path : new String[] { "/assets/BGniKoKoAndMarie_2.png", "/assets/CloudsniKoKoAndMarie_4.png" }) {
+            loads.put("image:" + path, () -> readImage(path));
+        }
+
+        // SoundCache keeps the sounds itself
+        for (String name : new String[] {
+                "GunSound.wav", "Click.wav", "HurtSound.wav", "GameOverSound.wav",
+                "Skip1.wav", "Execution.wav", "Freezing.wav" }) {
+            loads.put("sound:" + name, () -> SoundCache.get(name));
+        }
+
+        // Word lists, indexes and generators are built when Constants is first
+        // used; Monster reads the medium words and its sprites when it is
+        loads.put("words", () -> Constants.DIFFICULTY_WORDS);
+        loads.put("class:Monster", () -> Class.forName("Monster"));
+
+        total = loads.size();
+        int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        ExecutorService workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "Asset loader");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.NORM_PRIORITY - 1);
+            return thread;
+        });
+        for (Map.Entry<String, Callable<?>> load : loads.entrySet()) {
+            submit(workers, load.getKey(), load.getValue());
+        }
+        // Queued tasks still run; the threads exit once they are done
+        workers.shutdown();
+    }
+
+    private static void submit(ExecutorService workers, String key, Callable<?> load) {
+        assets.put(key, workers.submit(() -> {
+            try {
+                return load.call();
+            } finally {
+                if (completed.incrementAndGet() == getTotal()) {
+                    runDoneActions();
+                }
+            }
+        }));
+    }
+
+    /**
+     * @return Fraction of assets loaded, 1 once everything is (or nothing was queued)
+     */
+    public static float getProgress() {
+        int count = getTotal();
+        return count == 0 ? 1f : completed.get() / (float) count;
+    }
+
+    public static boolean isDone() {
+        return completed.get() == getTotal();
+    }
+
+    private static synchronized int getTotal() {
+        return total;
+    }
+
+    /**
+     * Runs the action on the event dispatch thread once every asset has loaded
+     */
+    public static void whenDone(Runnable action) {
+        synchronized (doneActions) {
+            if (!isDone()) {
+                doneActions.add(action);
+                return;
+            }
+        }
+        SwingUtilities.invokeLater(action);
+    }
+
+    private static void runDoneActions() {
+        synchronized (doneActions) {
+            for (Runnable action : doneActions) {
+                SwingUtilities.invokeLater(action);
+            }
+            doneActions.clear();
+        }
+    }
+
+    /**
+     * @see AnimatedSprite#load
+     */
+    public static AnimatedSprite sprite(String path) throws IOException {
+        Object sprite = await("sprite:" + path);
+        return sprite != null ? (AnimatedSprite) sprite : AnimatedSprite.load(path);
+    }
+
+    /**
+     * @see AnimationFrames#load
+     */
+    public static AnimationFrames frames(String name, String pathPrefix, int count) {
+        Object frames = await(frameKey(pathPrefix, count));
+        return frames != null ? (AnimationFrames) frames : AnimationFrames.load(name, pathPrefix, count);
+    }
+
+    /**
+     * @return The decoded classpath image, or null if it is missing or unreadable
+     */
+    public static BufferedImage image(String path) {
+        Object image = await("image:" + path);
+        return image != null ? (BufferedImage) image : readImage(path);
+    }
+
+    /**
+     * Waits for a queued asset
+     * @return The asset, or null if it was not queued or failed to load
+     * (loading it again reports why)
+     */
+    private static Object await(String key) {
+        Future<?> pending = assets.get(key);
+        if (pending == null) {
+            return null;
+        }
+        try {
+            return pending.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            return null;
+        }
+    }
+
+    private static String frameKey(String pathPrefix, int count) {
+        return "frames:" + pathPrefix + ":" + count;
+    }
+
+    private static BufferedImage readImage(String path) {
+        try {
+            URL url = AssetPreloader.class.getResource(path);
+            return url == null ? null : ImageIO.read(url);
+        } catch (IOException e) {
+            System.out.println("Error loading image " + path + ": " + e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/**
+ * Runs AudioEngine with a simulated sound card (AudioOutput.Null) and reports
+ * how long sounds take from play to output, so buffer sizes can be tuned and
+ * the mixer checked on a machine without audio:
+ *
+ *   java -Djava.awt.headless=true -cp bin AudioBenchmark [--seconds N] [--buffer FRAMES]
+ *       [--stall MS] [--line]
+ *
+ * Music streams while gun shots, hurt sounds and bursts of clicks are
+ * played the way the game plays them. --stall pauses the mixer once a
+ * second to provoke underruns and show the buffer backing off; --line uses
+ * the real sound card instead. Exits with status 1 if no sound reached the output.
+ */
+public class AudioBenchmark {
+    private static final int SHOT_INTERVAL_MS = 100;
+    private static final int HURT_INTERVAL_MS = 700;
+    private static final int BURST_INTERVAL_MS = 2000;
+    private static final int BURST_SIZE = 20;
+
+    /**
+     * The null output, except that once a second the mixer is held up after
+     * a write, as if its thread had not been scheduled in time
+     */
+    private static class StallingOutput extends AudioOutput.Null {
+        private final long stallMillis;
+        private long lastStall = System.nanoTime();
+
+        StallingOutput(long stallMillis) {
+            this.stallMillis = stallMillis;
+        }
+
+        @Override
+        public void write(byte[] data, int offset, int length) {
+            super.write(data, offset, length);
+            long now = System.nanoTime();
+            if (now - lastStall > 1_000_000_000L) {
+                lastStall = now;
+                try {
+                    Thread.sleep(stallMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int seconds = 5;
+        long stallMillis = 0;
+        boolean realLine = false;
+
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            try {
+                if (arg.equals("--seconds") && i + 1 < args.length) {
+                    seconds = Math.max(1, Integer.parseInt(args[++i]));
+                } else if (arg.equals("--buffer") && i + 1 < args.length) {
+                    Constants.audioBufferFrames = Integer.parseInt(args[++i]);
+                } else if (arg.equals("--stall") && i + 1 < args.length) {
+                    stallMillis = Math.max(0, Long.parseLong(args[++i]));
+                } else if (arg.equals("--line")) {
+                    realLine = true;
+                }
+            } catch (NumberFormatException e) {
+                System.out.println("Ignoring invalid " + arg + " value: " + args[i]);
+            }
+        }
+
+        if (!realLine) {
+            AudioEngine.setOutput(stallMillis > 0 ? new StallingOutput(stallMillis) : new AudioOutput.Null());
+        }
+
+        Sound gun = SoundCache.get("GunSound.wav");
+        Sound hurt = SoundCache.get("HurtSound.wav");
+        Sound click = SoundCache.get("Click.wav");
+        MusicPlayer.play("Freezing.wav");
+
+        long start = System.currentTimeMillis();
+        long end = start + seconds * 1000L;
+        long nextShot = start;
+        long nextHurt = start;
+        long nextBurst = start;
+        while (System.currentTimeMillis() < end) {
+            long now = System.currentTimeMillis();
+            if (now >= nextShot) {
+                AudioEngine.play(gun);
+                nextShot += SHOT_INTERVAL_MS;
+            }
+            if (now >= nextHurt) {
+                AudioEngine.play(hurt, 1f, AudioEngine.PRIORITY_HIGH);
+                nextHurt += HURT_INTERVAL_MS;
+            }
+            if (now >= nextBurst) {
+                // Like a power-up removing every monster at once; most are rate limited away
+                for (int i = 0; i < BURST_SIZE; i++) {
+                    AudioEngine.play(click, 0.5f, AudioEngine.PRIORITY_LOW);
+                }
+                nextBurst += BURST_INTERVAL_MS;
+            }
+            Thread.sleep(1);
+        }
+
+        AudioLatency latency = AudioEngine.getLatency();
+        System.out.println(String.format("Sounds started:       %d", latency.getSamples()));
+        System.out.println(String.format("Play to write:        %.2f ms average, %.2f ms max",
+            latency.getAverageTriggerMillis(), latency.getMaxTriggerMillis()));
+        System.out.println(String.format("Frames queued ahead:  %.0f average, %d max",
+            latency.getAverageQueuedFrames(), latency.getMaxQueuedFrames()));
+        System.out.println(String.format("Play to heard (est.): %.2f ms average, %.2f ms max",
+            latency.getAverageOutputMillis(), latency.getMaxOutputMillis()));
+        System.out.println(String.format("Underruns:            %d", latency.getUnderruns()));
+        System.out.println(String.format("Output buffer:        %d frames", AudioEngine.getBufferFrames()));
+
+        AudioEngine.shutdown();
+        System.exit(latency.getSamples() > 0 ? 0 : 1);
+    }
+}
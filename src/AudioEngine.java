@@ -0,0 +1,410 @@
+import java.util.ArrayList;
+import java.util.List;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.LineUnavailableException;
+
+/**
+ * Plays every sound effect through one SourceDataLine (or another AudioOutput).
+ * A mixer thread adds up the active voices block by block and writes the
+ * result to the line, so no matter how many sounds play there is only ever
+ * one audio line open. When all voices are busy the least important one is
+ * taken over. A sound started again too soon is skipped, so bursts (e.g.
+ * every monster killed by a power-up) cannot drown out everything else, and
+ * one already playing too often at once restarts its oldest copy. Streams such as MusicPlayer's tracks are mixed in
+ * alongside the voices.
+ * The output buffer starts at Constants.audioBufferFrames; if the buffer
+ * keeps running dry while sound plays, it is reopened twice as large.
+ * How long sounds take to reach the output is tracked in getLatency().
+ */
+public class AudioEngine {
+    // 48 kHz 16-bit stereo, signed little-endian; sounds are decoded to this once
+    public static final AudioFormat FORMAT = new AudioFormat(48000f, 16, 2, true, false);
+
+    public static final int PRIORITY_LOW = 0;
+    public static final int PRIORITY_NORMAL = 1;
+    public static final int PRIORITY_HIGH = 2;
+
+    private static final int MAX_VOICES = 16;
+    // Mixed per write, about 10 ms
+    private static final int BLOCK_FRAMES = 480;
+    // The output buffer must hold at least two blocks so one can play while the next is mixed
+    private static final int MIN_BUFFER_FRAMES = BLOCK_FRAMES * 2;
+    // This many underruns within UNDERRUN_WINDOW_NANOS double the buffer
+    private static final int UNDERRUN_LIMIT = 3;
+    private static final long UNDERRUN_WINDOW_NANOS = 5_000_000_000L;
+
+    // The same sound may not start again within this time...
+    private static final long MIN_RESTART_NANOS = 30_000_000L;
+    // ...nor play more than this many times at once; past that its oldest copy is restarted
+    private static final int MAX_INSTANCES = 4;
+
+    private static final Object lock = new Object();
+    private static final Voice[] voices = new Voice[MAX_VOICES];
+    private static final List<Stream> streams = new ArrayList<>();
+    static {
+        for (int i = 0; i < MAX_VOICES; i++) {
+            voices[i] = new Voice();
+        }
+    }
+
+    private static Thread mixerThread;
+    private static AudioOutput output;
+    private static volatile int bufferFrames;
+    private static boolean unavailable = false;
+    private static volatile boolean running = false;
+    private static final AudioLatency latency = new AudioLatency();
+
+    /**
+     * One playing sound; voices are reused, never allocated while playing
+     */
+    private static class Voice {
+        Sound sound;
+        int position; // next frame to mix
+        float gain;
+        int priority;
+        long startNanos;
+
+        boolean isActive() {
+            return sound != null;
+        }
+    }
+
+    /**
+     * Audio produced while playing, e.g. music decoded on the fly.
+     * mix is called on the mixer thread with the engine locked, so it must
+     * not block; whatever is not ready yet is simply left silent.
+     */
+    public interface Stream {
+        /**
+         * Adds the next block of interleaved stereo samples into mix
+         * @return false once the stream has finished and can be dropped
+         */
+        boolean mix(int[] mix);
+    }
+
+    /**
+     * Starts mixing a stream in until it reports that it has finished
+     * @return Whether the stream was added (false when there is no audio line)
+     */
+    public static boolean addStream(Stream stream) {
+        if (!start()) {
+            return false;
+        }
+        synchronized (lock) {
+            streams.add(stream);
+            lock.notifyAll();
+        }
+        return true;
+    }
+
+    /**
+     * Plays a sound at normal priority and full volume
+     */
+    public static void play(Sound sound) {
+        play(sound, 1f, PRIORITY_NORMAL);
+    }
+
+    /**
+     * Starts a voice for the sound. If the sound already plays MAX_INSTANCES
+     * times, its oldest copy starts over. Otherwise, if every voice is busy, the
+     * lowest priority voice that has played longest is taken over, as long as
+     * it is not more important than this one; otherwise the sound is skipped.
+     * @param gain Volume, 1 = as recorded
+     */
+    public static void play(Sound sound, float gain, int priority) {
+        if (sound == null || !start()) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        synchronized (lock) {
+            if (now - sound.lastStartNanos < MIN_RESTART_NANOS) {
+                return;
+            }
+
+            Voice free = null;
+            Voice victim = null;
+            Voice oldestInstance = null;
+            int instances = 0;
+            for (Voice voice : voices) {
+                if (!voice.isActive()) {
+                    if (free == null) {
+                        free = voice;
+                    }
+                    continue;
+                }
+                if (voice.sound == sound) {
+                    instances++;
+                    if (oldestInstance == null || voice.startNanos < oldestInstance.startNanos) {
+                        oldestInstance = voice;
+                    }
+                }
+                if (victim == null || voice.priority < victim.priority
+                        || (voice.priority == victim.priority && voice.startNanos < victim.startNanos)) {
+                    victim = voice;
+                }
+            }
+            Voice voice = free;
+            if (instances >= MAX_INSTANCES) {
+                // Like restarting a Clip: the newest play is always heard
+                voice = oldestInstance;
+            } else if (voice == null) {
+                if (victim.priority > priority) {
+                    return;
+                }
+                voice = victim;
+            }
+            voice.sound = sound;
+            voice.position = 0;
+            voice.gain = gain;
+            voice.priority = priority;
+            voice.startNanos = now;
+            sound.lastStartNanos = now;
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Stops every voice playing the sound
+     */
+    public static void stop(Sound sound) {
+        synchronized (lock) {
+            for (Voice voice : voices) {
+                if (voice.sound == sound) {
+                    voice.sound = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return Whether any voice is playing the sound
+     */
+    public static boolean isPlaying(Sound sound) {
+        synchronized (lock) {
+            for (Voice voice : voices) {
+                if (voice.sound == sound) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Sends the mix somewhere other than the sound card, e.g. AudioOutput.Null
+     * for measuring without a device. Only takes effect before the first sound plays.
+     */
+    public static void setOutput(AudioOutput newOutput) {
+        synchronized (lock) {
+            if (!running) {
+                output = newOutput;
+                unavailable = false;
+            }
+        }
+    }
+
+    /**
+     * @return Delays from play to output, collected while sounds play
+     */
+    public static AudioLatency getLatency() {
+        return latency;
+    }
+
+    /**
+     * @return Size of the output buffer in frames, 0 before the output is open
+     */
+    public static int getBufferFrames() {
+        return bufferFrames;
+    }
+
+    /**
+     * Opens the output and starts the mixer thread the first time it is called
+     * @return Whether sound can be played
+     */
+    private static boolean start() {
+        synchronized (lock) {
+            if (running || unavailable) {
+                return running;
+            }
+            if (output == null) {
+                output = new AudioOutput.Line();
+            }
+            try {
+                output.open(FORMAT, Math.max(MIN_BUFFER_FRAMES, Constants.audioBufferFrames));
+            } catch (LineUnavailableException | IllegalArgumentException | SecurityException e) {
+                // No audio device (e.g. a headless machine): the game runs silently
+                System.out.println("Sound disabled, no audio line available: " + e.getMessage());
+                unavailable = true;
+                output = null;
+                return false;
+            }
+            bufferFrames = output.getBufferFrames();
+
+            running = true;
+            mixerThread = new Thread(AudioEngine::mixLoop, "Audio mixer");
+            mixerThread.setDaemon(true);
+            mixerThread.setPriority(Thread.MAX_PRIORITY);
+            mixerThread.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(AudioEngine::shutdown));
+            return true;
+        }
+    }
+
+    /**
+     * Stops the mixer thread and closes the output
+     */
+    public static void shutdown() {
+        Thread thread;
+        synchronized (lock) {
+            if (!running) {
+                return;
+            }
+            running = false;
+            thread = mixerThread;
+            lock.notifyAll();
+        }
+        thread.interrupt();
+        try {
+            thread.join(500);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void mixLoop() {
+        int[] mix = new int[BLOCK_FRAMES * 2];
+        byte[] out = new byte[BLOCK_FRAMES * FORMAT.getFrameSize()];
+        // Whether the last block continued the one before, so an empty buffer now is an underrun
+        boolean playing = false;
+        int recentUnderruns = 0;
+        long underrunWindowStart = 0;
+        try {
+            while (running) {
+                synchronized (lock) {
+                    // Sleep while there is nothing to play; the output simply runs dry
+                    if (!anyActive()) {
+                        playing = false;
+                    }
+                    while (running && !anyActive()) {
+                        lock.wait();
+                    }
+                    if (!running) {
+                        break;
+                    }
+                    mixBlock(mix, output.getQueuedFrames());
+                }
+
+                if (playing && output.getQueuedFrames() == 0) {
+                    latency.recordUnderrun();
+                    long now = System.nanoTime();
+                    if (now - underrunWindowStart > UNDERRUN_WINDOW_NANOS) {
+                        underrunWindowStart = now;
+                        recentUnderruns = 0;
+                    }
+                    if (++recentUnderruns >= UNDERRUN_LIMIT) {
+                        recentUnderruns = 0;
+                        if (!growBuffer()) {
+                            break;
+                        }
+                    }
+                }
+
+                toBytes(mix, out);
+                // Blocks while the output buffer is full, which paces the loop
+                output.write(out, 0, out.length);
+                playing = true;
+            }
+        } catch (InterruptedException e) {
+            // Shutting down
+        } finally {
+            output.close();
+        }
+    }
+
+    /**
+     * Reopens the output with twice the buffer, up to Constants.AUDIO_MAX_BUFFER_FRAMES,
+     * trading latency for fewer dropouts
+     * @return false if the output could not be reopened at all
+     */
+    private static boolean growBuffer() {
+        int frames = Math.min(Constants.AUDIO_MAX_BUFFER_FRAMES, bufferFrames * 2);
+        if (frames <= bufferFrames) {
+            return true;
+        }
+        output.close();
+        try {
+            output.open(FORMAT, frames);
+        } catch (LineUnavailableException | IllegalArgumentException | SecurityException e) {
+            System.out.println("Could not enlarge the audio buffer: " + e.getMessage());
+            try {
+                output.open(FORMAT, bufferFrames);
+            } catch (LineUnavailableException | IllegalArgumentException | SecurityException again) {
+                // The device is gone; stop mixing into nothing
+                System.out.println("Sound disabled, audio output lost: " + again.getMessage());
+                running = false;
+                return false;
+            }
+            return true;
+        }
+        bufferFrames = output.getBufferFrames();
+        System.out.println("Audio kept running dry, output buffer raised to " + bufferFrames + " frames ("
+            + bufferFrames * 1000 / (int) FORMAT.getFrameRate() + " ms)");
+        return true;
+    }
+
+    private static boolean anyActive() {
+        if (!streams.isEmpty()) {
+            return true;
+        }
+        for (Voice voice : voices) {
+            if (voice.isActive()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds the next block of every active voice into mix, freeing voices that finish
+     * @param queuedFrames Frames the output still has to play before this block
+     */
+    private static void mixBlock(int[] mix, int queuedFrames) {
+        java.util.Arrays.fill(mix, 0);
+        long now = System.nanoTime();
+        for (Voice voice : voices) {
+            if (!voice.isActive()) {
+                continue;
+            }
+            if (voice.position == 0) {
+                latency.record(now - voice.startNanos, queuedFrames);
+            }
+            short[] samples = voice.sound.getSamples();
+            int from = voice.position * 2;
+            int count = Math.min(mix.length, samples.length - from);
+            float gain = voice.gain;
+            for (int i = 0; i < count; i++) {
+                mix[i] += (int) (samples[from + i] * gain);
+            }
+            voice.position += count / 2;
+            if (voice.position * 2 >= samples.length) {
+                voice.sound = null;
+            }
+        }
+
+        for (int i = streams.size() - 1; i >= 0; i--) {
+            if (!streams.get(i).mix(mix)) {
+                streams.remove(i);
+            }
+        }
+    }
+
+    private static void toBytes(int[] mix, byte[] out) {
+        for (int i = 0; i < mix.length; i++) {
+            // Clip instead of wrapping around when voices add up past full scale
+            int sample = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, mix[i]));
+            out[2 * i] = (byte) sample;
+            out[2 * i + 1] = (byte) (sample >> 8);
+        }
+    }
+}
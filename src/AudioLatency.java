@@ -0,0 +1,78 @@
+/**
+ * How long sounds take from AudioEngine.play to the output, summed over
+ * every voice started since the last reset.
+ * Trigger to write is measured when the block with a voice's first samples
+ * is handed to the output; the frames already queued there are played
+ * before it, so the two together estimate when the sound is heard.
+ */
+public class AudioLatency {
+    private int samples = 0;
+    private long totalTriggerNanos = 0;
+    private long maxTriggerNanos = 0;
+    private long totalQueuedFrames = 0;
+    private int maxQueuedFrames = 0;
+    private int underruns = 0;
+
+    synchronized void record(long triggerToWriteNanos, int queuedFrames) {
+        samples++;
+        totalTriggerNanos += triggerToWriteNanos;
+        maxTriggerNanos = Math.max(maxTriggerNanos, triggerToWriteNanos);
+        totalQueuedFrames += queuedFrames;
+        maxQueuedFrames = Math.max(maxQueuedFrames, queuedFrames);
+    }
+
+    synchronized void recordUnderrun() {
+        underruns++;
+    }
+
+    public synchronized void reset() {
+        samples = 0;
+        totalTriggerNanos = 0;
+        maxTriggerNanos = 0;
+        totalQueuedFrames = 0;
+        maxQueuedFrames = 0;
+        underruns = 0;
+    }
+
+    public synchronized int getSamples() {
+        return samples;
+    }
+
+    public synchronized int getUnderruns() {
+        return underruns;
+    }
+
+    /**
+     * @return Average milliseconds from play to the first write of the sound
+     */
+    public synchronized double getAverageTriggerMillis() {
+        return samples == 0 ? 0 : totalTriggerNanos / 1_000_000.0 / samples;
+    }
+
+    public synchronized double getMaxTriggerMillis() {
+        return maxTriggerNanos / 1_000_000.0;
+    }
+
+    public synchronized double getAverageQueuedFrames() {
+        return samples == 0 ? 0 : totalQueuedFrames / (double) samples;
+    }
+
+    public synchronized int getMaxQueuedFrames() {
+        return maxQueuedFrames;
+    }
+
+    /**
+     * @return Average estimated milliseconds from play until the sound is heard
+     */
+    public synchronized double getAverageOutputMillis() {
+        return getAverageTriggerMillis() + framesToMillis(getAverageQueuedFrames());
+    }
+
+    public synchronized double getMaxOutputMillis() {
+        return getMaxTriggerMillis() + framesToMillis(maxQueuedFrames);
+    }
+
+    private static double framesToMillis(double frames) {
+        return frames * 1000 / AudioEngine.FORMAT.getFrameRate();
+    }
+}
@@ -0,0 +1,131 @@
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.SourceDataLine;
+
+/**
+ * Where AudioEngine's mixer writes its blocks: the sound card, or a
+ * simulated device that plays nothing (see Null) for machines without one.
+ */
+public interface AudioOutput {
+    /**
+     * Opens the output with room for the given number of frames queued
+     */
+    void open(AudioFormat format, int bufferFrames) throws LineUnavailableException;
+
+    /**
+     * Queues the bytes, blocking while the buffer is full
+     */
+    void write(byte[] data, int offset, int length);
+
+    /**
+     * @return Frames written but not played yet
+     */
+    int getQueuedFrames();
+
+    /**
+     * @return Frames the buffer can hold, which may differ from what was asked for
+     */
+    int getBufferFrames();
+
+    void close();
+
+    /**
+     * The default output, a SourceDataLine of the system mixer
+     */
+    class Line implements AudioOutput {
+        private SourceDataLine line;
+        private int frameSize;
+
+        @Override
+        public void open(AudioFormat format, int bufferFrames) throws LineUnavailableException {
+            frameSize = format.getFrameSize();
+            line = AudioSystem.getSourceDataLine(format);
+            line.open(format, bufferFrames * frameSize);
+            line.start();
+        }
+
+        @Override
+        public void write(byte[] data, int offset, int length) {
+            line.write(data, offset, length);
+        }
+
+        @Override
+        public int getQueuedFrames() {
+            return (line.getBufferSize() - line.available()) / frameSize;
+        }
+
+        @Override
+        public int getBufferFrames() {
+            return line.getBufferSize() / frameSize;
+        }
+
+        @Override
+        public void close() {
+            line.stop();
+            line.flush();
+            line.close();
+        }
+    }
+
+    /**
+     * Plays nothing, but drains its buffer in real time like a sound card,
+     * so the mixer is paced and timed just as it would be with real output
+     */
+    class Null implements AudioOutput {
+        private float frameRate;
+        private int frameSize;
+        private int bufferFrames;
+        // Queued frames as of lastUpdate; they drain at frameRate
+        private double queued;
+        private long lastUpdate;
+
+        @Override
+        public void open(AudioFormat format, int bufferFrames) {
+            frameRate = format.getFrameRate();
+            frameSize = format.getFrameSize();
+            this.bufferFrames = bufferFrames;
+            queued = 0;
+            lastUpdate = System.nanoTime();
+        }
+
+        @Override
+        public void write(byte[] data, int offset, int length) {
+            int frames = length / frameSize;
+            while (drain() + frames > bufferFrames) {
+                double waitFrames = queued + frames - bufferFrames;
+                try {
+                    Thread.sleep(Math.max(1, (long) (waitFrames * 1000 / frameRate)));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+            synchronized (this) {
+                queued += frames;
+            }
+        }
+
+        private synchronized double drain() {
+            long now = System.nanoTime();
+            queued = Math.max(0, queued - (now - lastUpdate) * frameRate / 1e9);
+            lastUpdate = now;
+            return queued;
+        }
+
+        @Override
+        public int getQueuedFrames() {
+            return (int) drain();
+        }
+
+        @Override
+        public int getBufferFrames() {
+            return bufferFrames;
+        }
+
+        @Override
+        public void close() {
+            queued = 0;
+        }
+    }
+}
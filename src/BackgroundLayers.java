@@ -0,0 +1,190 @@
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+
+/**
+ * The static background and the cloud overlay, rendered once at the panel
+ * size instead of being stretched every frame.
+ * The clouds are cut into tiles: fully transparent tiles are dropped,
+ * fully opaque ones are stored opaque so they blit without blending, and
+ * only the rest pay for an alpha blend.
+ */
+public class BackgroundLayers {
+    private static final int TILE_SIZE = 64;
+
+    private Image backgroundSource;
+    private Image cloudsSource;
+
+    private BufferedImage background;
+    private int builtWidth = -1;
+    private int builtHeight = -1;
+
+    private BufferedImage[] cloudTiles = new BufferedImage[0];
+    private int[] cloudTileX = new int[0];
+    private int[] cloudTileY = new int[0];
+    private int cloudTileCount = 0;
+
+    // Reused to read the clip without allocating
+    private final Rectangle clipBounds = new Rectangle();
+
+    public void setBackgroundImage(Image image) {
+        backgroundSource = image;
+        invalidate();
+    }
+
+    public void setCloudsImage(Image image) {
+        cloudsSource = image;
+        invalidate();
+    }
+
+    public boolean hasBackgroundImage() {
+        return backgroundSource != null;
+    }
+
+    /**
+     * Forces both layers to be rebuilt on their next draw, e.g. after a resize
+     */
+    public void invalidate() {
+        builtWidth = -1;
+        builtHeight = -1;
+    }
+
+    public void drawBackground(Graphics2D g, int width, int height) {
+        ensureBuilt(width, height);
+        g.drawImage(background, 0, 0, null);
+    }
+
+    public void drawClouds(Graphics2D g, int width, int height) {
+        ensureBuilt(width, height);
+
+        // Only tiles touching the clip, so partial redraws skip most of them
+        if (g.getClip() == null) {
+            clipBounds.setBounds(0, 0, width, height);
+        } else {
+            g.getClipBounds(clipBounds);
+        }
+        for (int i = 0; i < cloudTileCount; i++) {
+            BufferedImage tile = cloudTiles[i];
+            if (clipBounds.intersects(cloudTileX[i], cloudTileY[i], tile.getWidth(), tile.getHeight())) {
+                g.drawImage(tile, cloudTileX[i], cloudTileY[i], null);
+            }
+        }
+    }
+
+    private void ensureBuilt(int width, int height) {
+        if (width == builtWidth && height == builtHeight) {
+            return;
+        }
+        buildBackground(width, height);
+        buildCloudTiles(width, height);
+        builtWidth = width;
+        builtHeight = height;
+    }
+
+    private void buildBackground(int width, int height) {
+        if (background == null || background.getWidth() != width || background.getHeight() != height) {
+            if (background != null) {
+                background.flush();
+            }
+            background = ImageUtils.createCompatibleImage(width, height, Transparency.OPAQUE);
+        }
+
+        Graphics2D g = background.createGraphics();
+        if (backgroundSource != null) {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(backgroundSource, 0, 0, width, height, null);
+        } else {
+            // Fallback to black background
+            g.setColor(Color.BLACK);
+            g.fillRect(0, 0, width, height);
+        }
+        g.dispose();
+    }
+
+    private void buildCloudTiles(int width, int height) {
+        for (int i = 0; i < cloudTileCount; i++) {
+            cloudTiles[i].flush();
+        }
+        cloudTileCount = 0;
+        if (cloudsSource == null) {
+            return;
+        }
+
+        // Scale once into a plain ARGB image we can read pixels back from
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = scaled.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g.drawImage(cloudsSource, 0, 0, width, height, null);
+        g.dispose();
+
+        int columns = (width + TILE_SIZE - 1) / TILE_SIZE;
+        int rows = (height + TILE_SIZE - 1) / TILE_SIZE;
+        int maxTiles = columns * rows;
+        if (cloudTiles.length < maxTiles) {
+            cloudTiles = new BufferedImage[maxTiles];
+            cloudTileX = new int[maxTiles];
+            cloudTileY = new int[maxTiles];
+        }
+
+        int[] pixels = new int[TILE_SIZE * TILE_SIZE];
+        for (int tileY = 0; tileY < height; tileY += TILE_SIZE) {
+            for (int tileX = 0; tileX < width; tileX += TILE_SIZE) {
+                int tileWidth = Math.min(TILE_SIZE, width - tileX);
+                int tileHeight = Math.min(TILE_SIZE, height - tileY);
+                scaled.getRGB(tileX, tileY, tileWidth, tileHeight, pixels, 0, tileWidth);
+
+                int transparency = tileTransparency(pixels, tileWidth * tileHeight);
+                if (transparency < 0) {
+                    continue; // Nothing visible in this tile
+                }
+
+                BufferedImage tile = ImageUtils.createCompatibleImage(tileWidth, tileHeight, transparency);
+                Graphics2D tileGraphics = tile.createGraphics();
+                tileGraphics.setComposite(AlphaComposite.Src);
+                tileGraphics.drawImage(scaled, 0, 0, tileWidth, tileHeight,
+                    tileX, tileY, tileX + tileWidth, tileY + tileHeight, null);
+                tileGraphics.dispose();
+
+                cloudTiles[cloudTileCount] = tile;
+                cloudTileX[cloudTileCount] = tileX;
+                cloudTileY[cloudTileCount] = tileY;
+                cloudTileCount++;
+            }
+        }
+    }
+
+    /**
+     * @return -1 if every pixel is fully transparent, otherwise the Transparency the tile needs
+     */
+    private static int tileTransparency(int[] pixels, int count) {
+        boolean anyVisible = false;
+        boolean allOpaque = true;
+        for (int i = 0; i < count; i++) {
+            int alpha = pixels[i] >>> 24;
+            if (alpha != 0) {
+                anyVisible = true;
+            }
+            if (alpha != 255) {
+                allOpaque = false;
+            }
+        }
+        if (!anyVisible) {
+            return -1;
+        }
+        return allOpaque ? Transparency.OPAQUE : Transparency.TRANSLUCENT;
+    }
+
+    /**
+     * Number of cloud tiles actually drawn each frame (for diagnostics)
+     */
+    public int getCloudTileCount() {
+        return cloudTileCount;
+    }
+}
@@ -0,0 +1,238 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.prefs.Preferences;
+
+/**
+ * Streams whitespace-separated tokens from an arbitrary text file (a novel,
+ * source code, ...) for book practice mode. Only a small window of the file
+ * is ever in memory, so multi-hundred-megabyte files open instantly.
+ * Tokens are turned into typeable words like those of the bundled lists:
+ * surrounding punctuation is stripped, accents are dropped and everything
+ * is lower-cased; tokens that still hold anything but letters (plus
+ * apostrophes or hyphens inside a word) are skipped.
+ * Progress is remembered as a byte offset per file so a session can resume.
+ */
+public class BookWordStream implements Closeable {
+    private static final int WINDOW_SIZE = 64 * 1024;
+
+    // Tokens longer than this (URLs, base64 blobs, ...) are skipped
+    private static final int MAX_TOKEN_BYTES = 32;
+
+    // Most bytes one nextWord call reads, so a spawn never waits on a long scan
+    private static final int MAX_SCAN_BYTES = 256 * 1024;
+
+    private static final Preferences PROGRESS = Preferences.userRoot().node("MonsterTyper/books");
+
+    private final Path path;
+    private final FileChannel channel;
+    private final ByteBuffer window = ByteBuffer.allocateDirect(WINDOW_SIZE);
+    private final byte[] tokenBytes = new byte[MAX_TOKEN_BYTES];
+
+    // File offset of window index 0
+    private long windowFileOffset;
+    private boolean endOfFile;
+
+    // Start offset of the last token returned by nextWord()
+    private long lastWordOffset;
+
+    // The token being read; it may span several nextWord calls
+    private boolean inToken;
+    private int tokenLength;
+    private boolean tokenTooLong;
+    private long tokenStart;
+
+    // Bytes read since the last word, to notice a file without any
+    private long bytesSinceWord;
+    private boolean noWords;
+
+    public BookWordStream(Path path) throws IOException {
+        this.path = path.toAbsolutePath();
+        this.channel = FileChannel.open(this.path, StandardOpenOption.READ);
+        seek(loadProgress());
+    }
+
+    /**
+     * Returns the next word of the file, wrapping around to the start at the end.
+     * Scans at most MAX_SCAN_BYTES per call so a file with few words (e.g.
+     * source code) cannot stall the game; the next call carries on from there.
+     * @return The word, or null if none turned up within the scan, the file
+     * has no usable words at all, or it cannot be read
+     */
+    public String nextWord() {
+        if (noWords) {
+            return null;
+        }
+        try {
+            for (int scanned = 0; scanned < MAX_SCAN_BYTES; scanned++) {
+                int b = nextByte();
+                if (b >= 0 && !isWhitespace(b)) {
+                    bytesSinceWord++;
+                    addToToken(b);
+                    continue;
+                }
+
+                if (inToken) {
+                    inToken = false;
+                    String word = tokenTooLong
+                        ? null
+                        : toWord(new String(tokenBytes, 0, tokenLength, StandardCharsets.UTF_8));
+                    if (word != null) {
+                        lastWordOffset = tokenStart;
+                        bytesSinceWord = 0;
+                        return word;
+                    }
+                }
+                if (b < 0) {
+                    if (bytesSinceWord >= channel.size()) {
+                        // A whole pass without a single word, no point reading it again
+                        System.out.println("No typeable words in book file " + path);
+                        noWords = true;
+                        return null;
+                    }
+                    // Finished the book, start over
+                    seek(0);
+                } else {
+                    bytesSinceWord++;
+                }
+            }
+            return null;
+        } catch (IOException e) {
+            System.out.println("Error reading book file: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void addToToken(int b) {
+        if (!inToken) {
+            inToken = true;
+            tokenStart = windowFileOffset + window.position() - 1;
+            tokenLength = 0;
+            tokenTooLong = false;
+        }
+        if (tokenLength < MAX_TOKEN_BYTES) {
+            tokenBytes[tokenLength++] = (byte) b;
+        } else {
+            tokenTooLong = true;
+        }
+    }
+
+    /**
+     * @return The token as a word to type, e.g. "(Don't!" becomes "don't" (with
+     * a straight or curly apostrophe) and "well-known," becomes "well-known",
+     * or null if it is not one (numbers, symbols, words joined by an em-dash, ...)
+     */
+    private static String toWord(String token) {
+        int start = 0;
+        int end = token.length();
+        while (start < end && !Character.isLetter(token.charAt(start))) {
+            start++;
+        }
+        while (end > start && !Character.isLetter(token.charAt(end - 1))) {
+            end--;
+        }
+        if (start == end) {
+            return null;
+        }
+
+        // Novels write apostrophes curly, the player types them straight
+        String letters = token.substring(start, end).replace('\u2019', '\'');
+        // Split accented letters into base letter and accent, then drop the accents
+        String word = Normalizer.normalize(letters, Normalizer.Form.NFD)
+            .replaceAll("\\p{M}", "")
+            .toLowerCase(Locale.ROOT);
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if ((c < 'a' || c > 'z') && c != '\'' && c != '-') {
+                return null;
+            }
+        }
+        return word;
+    }
+
+    private int nextByte() throws IOException {
+        if (!window.hasRemaining()) {
+            if (endOfFile) {
+                return -1;
+            }
+            windowFileOffset += window.limit();
+            window.clear();
+            if (channel.read(window, windowFileOffset) <= 0) {
+                endOfFile = true;
+            }
+            window.flip();
+            if (!window.hasRemaining()) {
+                return -1;
+            }
+        }
+        return window.get() & 0xFF;
+    }
+
+    /**
+     * Moves the stream to a byte offset; the next token starts at or after it
+     */
+    public void seek(long offset) throws IOException {
+        long target = Math.max(0, Math.min(offset, channel.size()));
+        windowFileOffset = target;
+        endOfFile = false;
+        lastWordOffset = target;
+        inToken = false;
+        window.clear();
+        window.flip();
+    }
+
+    public long getLastWordOffset() {
+        return lastWordOffset;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Remembers the last spawned word so the next session resumes from it
+     */
+    public void saveProgress() {
+        try {
+            PROGRESS.put(progressKey(), channel.size() + ":" + lastWordOffset);
+        } catch (IOException e) {
+            System.out.println("Error saving book progress: " + e.getMessage());
+        }
+    }
+
+    private long loadProgress() throws IOException {
+        String saved = PROGRESS.get(progressKey(), null);
+        if (saved == null) {
+            return 0;
+        }
+        try {
+            int separator = saved.indexOf(':');
+            long savedSize = Long.parseLong(saved.substring(0, separator));
+            long savedOffset = Long.parseLong(saved.substring(separator + 1));
+            // The file changed since last time, its offsets mean nothing now
+            return savedSize == channel.size() ? savedOffset : 0;
+        } catch (RuntimeException e) {
+            return 0;
+        }
+    }
+
+    private String progressKey() {
+        // Preferences keys are limited to 80 characters, so use a hash of the path
+        return Integer.toHexString(path.toString().hashCode());
+    }
+
+    private static boolean isWhitespace(int b) {
+        return b == ' ' || b == '\t' || b == '\n' || b == '\r' || b == '\f' || b == 0x0B;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
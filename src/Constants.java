@@ -13,8 +13,13 @@ public class Constants {
     public static final int WIDTH = 800;
     public static final int HEIGHT = 700;
     
+    // Frame rate of the game loop; monster speeds are tuned per frame at 60 FPS
+    public static final int TARGET_FPS = 60;
+    
     // Monster properties
     public static final int MONSTER_SIZE = 50;
+    // The boss, the largest thing drawn from a sprite
+    public static final int BOSS_MONSTER_SIZE = (int) (MONSTER_SIZE * 3.5);
     public static final double MONSTER_INITIAL_SPEED = 0.5;
     public static final double MONSTER_MAX_SPEED = 10;
     
@@ -47,6 +52,50 @@ public class Constants {
     // Current difficulty level
     public static int currentDifficulty = DIFFICULTY_EASY;
     
+    // Word sources for spawned monsters
+    public static final int WORD_SOURCE_DICTIONARY = 0;
+    public static final int WORD_SOURCE_PSEUDO = 1;
+    public static final int WORD_SOURCE_BOOK = 2;
+    
+    // Current word source
+    public static int currentWordSource = WORD_SOURCE_DICTIONARY;
+    
+    // Avoid spawning words whose first letter is already on screen
+    public static boolean prefixDisjointWords = false;
+    public static final int PREFIX_DISJOINT_RETRIES = 8;
+    
+    // Fixed internal render resolution, scaled to the window in one final blit (0 = render at window size)
+    public static int internalRenderWidth = 0;
+    public static int internalRenderHeight = 0;
+    // Alternatively render at this multiple of the window size (0 = off)
+    public static double internalRenderScale = 0;
+    // Nearest-neighbour instead of bilinear filtering for that final blit
+    public static boolean pixelatedUpscale = false;
+    
+    // Redraw only the parts of the frame that changed (helps slow software pipelines)
+    public static boolean dirtyRectRendering = false;
+    // Above this fraction of the frame a full redraw is cheaper than many small ones
+    public static final double DIRTY_FULL_REDRAW_COVERAGE = 0.4;
+    public static final int DIRTY_MAX_RECTS = 12;
+    
+    // Rasterize monster bodies, labels, effects and overlay on worker threads during full redraws
+    public static boolean parallelLayerRendering = false;
+
+    // Level of detail for crowded screens, by number of monsters on screen:
+    // past lodReducedCount only the lodLabeledMonsters nearest the base keep
+    // their word labels and only damaged monsters show health bars
+    public static int lodReducedCount = 40;
+    public static int lodLabeledMonsters = 30;
+    // Past this count monsters without a label stop animating
+    public static int lodStaticCount = 150;
+    // Past this count monsters without a label are drawn as flat squares
+    public static int lodSimpleCount = 1000;
+
+    // Audio output buffer in frames at 48 kHz (1920 = 40 ms); doubled automatically,
+    // up to AUDIO_MAX_BUFFER_FRAMES, when it keeps running dry
+    public static int audioBufferFrames = 1920;
+    public static final int AUDIO_MAX_BUFFER_FRAMES = 9600;
+
     // Word files
     private static final String WORDS_FOLDER = "assets/words/";
     private static final String EASY_WORDS_FILE = WORDS_FOLDER + "easy_words.txt";
@@ -62,6 +111,15 @@ public class Constants {
     public static final int FORT_HEIGHT = 500; 
 
     public static final Map<Integer, String[]> DIFFICULTY_WORDS = loadAllWordFiles();
+
+    // Letter/bigram index per difficulty for constrained word queries
+    public static final Map<Integer, WordIndex> DIFFICULTY_INDEX = buildWordIndexes();
+
+    // Weighted samplers per difficulty, biased toward the player's weak letters
+    public static final Map<Integer, WeightedWordSampler> DIFFICULTY_SAMPLER = buildWordSamplers();
+
+    // Markov pseudo-word generators per difficulty, trained on the word lists above
+    public static final Map<Integer, MarkovWordGenerator> DIFFICULTY_PSEUDO_WORDS = buildPseudoWordGenerators();
     
     // Random generator for the game
     public static final Random RANDOM = new Random();
@@ -88,6 +146,31 @@ public class Constants {
         return difficultyWords;
     }
     
+    private static Map<Integer, WordIndex> buildWordIndexes() {
+        Map<Integer, WordIndex> indexes = new HashMap<>();
+        for (Map.Entry<Integer, String[]> entry : DIFFICULTY_WORDS.entrySet()) {
+            indexes.put(entry.getKey(), new WordIndex(entry.getValue()));
+        }
+        return indexes;
+    }
+    
+    private static Map<Integer, WeightedWordSampler> buildWordSamplers() {
+        Map<Integer, WeightedWordSampler> samplers = new HashMap<>();
+        for (Map.Entry<Integer, String[]> entry : DIFFICULTY_WORDS.entrySet()) {
+            samplers.put(entry.getKey(), new WeightedWordSampler(entry.getValue()));
+        }
+        return samplers;
+    }
+    
+    private static Map<Integer, MarkovWordGenerator> buildPseudoWordGenerators() {
+        Map<Integer, MarkovWordGenerator> generators = new HashMap<>();
+        // Easy words are only 3-4 letters long, an order-3 model would just copy them
+        generators.put(DIFFICULTY_EASY, new MarkovWordGenerator(DIFFICULTY_WORDS.get(DIFFICULTY_EASY), 2));
+        generators.put(DIFFICULTY_MEDIUM, new MarkovWordGenerator(DIFFICULTY_WORDS.get(DIFFICULTY_MEDIUM), 3));
+        generators.put(DIFFICULTY_HARD, new MarkovWordGenerator(DIFFICULTY_WORDS.get(DIFFICULTY_HARD), 3));
+        return generators;
+    }
+    
     private static String[] loadWordsFromFile(String filePath) {
         List<String> wordList = new ArrayList<>();
         try (InputStream inputStream = Constants.class.getClassLoader().getResourceAsStream(filePath)) {
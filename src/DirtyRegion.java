@@ -0,0 +1,183 @@
+import java.awt.Rectangle;
+
+/**
+ * The parts of a frame that need to be redrawn, kept as a list of
+ * rectangles from a preallocated pool so tracking allocates nothing.
+ * A region can also be "full", meaning the whole frame is redrawn; adding
+ * more rectangles than the pool holds falls back to that.
+ */
+public class DirtyRegion {
+    private static final int POOL_SIZE = 512;
+
+    private final Rectangle[] rects = new Rectangle[POOL_SIZE];
+    private int count = 0;
+    private boolean full = false;
+    private int boundsWidth = 0;
+    private int boundsHeight = 0;
+
+    public DirtyRegion() {
+        for (int i = 0; i < POOL_SIZE; i++) {
+            rects[i] = new Rectangle();
+        }
+    }
+
+    /**
+     * Empties the region; rectangles are clipped to (0, 0, width, height) from now on
+     */
+    public void reset(int width, int height) {
+        count = 0;
+        full = false;
+        boundsWidth = width;
+        boundsHeight = height;
+    }
+
+    public void markAll() {
+        full = true;
+        count = 0;
+    }
+
+    public boolean isFull() {
+        return full;
+    }
+
+    public void add(int x, int y, int width, int height) {
+        if (full) {
+            return;
+        }
+        int left = Math.max(0, x);
+        int top = Math.max(0, y);
+        int right = Math.min(boundsWidth, x + width);
+        int bottom = Math.min(boundsHeight, y + height);
+        if (right <= left || bottom <= top) {
+            return; // Off screen
+        }
+        if (count == POOL_SIZE) {
+            markAll();
+            return;
+        }
+        rects[count++].setBounds(left, top, right - left, bottom - top);
+    }
+
+    public void add(Rectangle r) {
+        add(r.x, r.y, r.width, r.height);
+    }
+
+    public void addAll(DirtyRegion other) {
+        if (other.full) {
+            markAll();
+            return;
+        }
+        for (int i = 0; i < other.count; i++) {
+            add(other.rects[i]);
+        }
+    }
+
+    /**
+     * Merges overlapping rectangles, then merges the pairs that waste the
+     * least area until at most maxRects remain
+     */
+    public void coalesce(int maxRects) {
+        if (full) {
+            return;
+        }
+        mergeOverlapping();
+        while (count > maxRects) {
+            int bestA = 0;
+            int bestB = 1;
+            long bestWaste = Long.MAX_VALUE;
+            for (int a = 0; a < count; a++) {
+                for (int b = a + 1; b < count; b++) {
+                    long waste = unionArea(rects[a], rects[b]) - area(rects[a]) - area(rects[b]);
+                    if (waste < bestWaste) {
+                        bestWaste = waste;
+                        bestA = a;
+                        bestB = b;
+                    }
+                }
+            }
+            rects[bestA].add(rects[bestB]);
+            remove(bestB);
+            mergeOverlapping();
+        }
+    }
+
+    private void mergeOverlapping() {
+        boolean merged = true;
+        while (merged) {
+            merged = false;
+            for (int a = 0; a < count; a++) {
+                for (int b = a + 1; b < count; b++) {
+                    if (rects[a].intersects(rects[b])) {
+                        rects[a].add(rects[b]);
+                        remove(b);
+                        merged = true;
+                        b--;
+                    }
+                }
+            }
+        }
+    }
+
+    // Swaps the last rectangle into the hole so the pool keeps every instance
+    private void remove(int index) {
+        Rectangle removed = rects[index];
+        rects[index] = rects[count - 1];
+        rects[count - 1] = removed;
+        count--;
+    }
+
+    /**
+     * @return Total area of the rectangles, or of the whole bounds if full
+     */
+    public long getArea() {
+        if (full) {
+            return (long) boundsWidth * boundsHeight;
+        }
+        long total = 0;
+        for (int i = 0; i < count; i++) {
+            total += area(rects[i]);
+        }
+        return total;
+    }
+
+    /**
+     * Sets into to the smallest rectangle covering the region, empty if there is nothing in it
+     * @return into
+     */
+    public Rectangle getBounds(Rectangle into) {
+        if (full) {
+            into.setBounds(0, 0, boundsWidth, boundsHeight);
+            return into;
+        }
+        into.setBounds(0, 0, 0, 0);
+        for (int i = 0; i < count; i++) {
+            if (i == 0) {
+                into.setBounds(rects[i]);
+            } else {
+                into.add(rects[i]);
+            }
+        }
+        return into;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    /**
+     * @return The i-th rectangle; owned by the region, valid until the next change
+     */
+    public Rectangle get(int i) {
+        return rects[i];
+    }
+
+    private static long area(Rectangle r) {
+        return (long) r.width * r.height;
+    }
+
+    private static long unionArea(Rectangle a, Rectangle b) {
+        long width = Math.max(a.x + a.width, b.x + b.width) - Math.min(a.x, b.x);
+        long height = Math.max(a.y + a.height, b.y + b.height) - Math.min(a.y, b.y);
+        return width * height;
+    }
+}
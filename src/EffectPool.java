@@ -0,0 +1,299 @@
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Stroke;
+import java.awt.image.BufferedImage;
+
+/**
+ * Short-lived visual effects kept in a fixed ring of preallocated slots.
+ * A slot only stores the effect type, its start tick and where it is, and
+ * everything else (current explosion frame, fade, shake offset) is derived
+ * from the GameClock tick when drawn, so effects need no per-frame updates.
+ * When every slot is busy the oldest effect is overwritten, which keeps
+ * bursts such as kill-all bounded and allocation-free.
+ */
+public class EffectPool {
+    public static final int EXPLOSION = 0;
+    public static final int HIT_FLASH = 1;
+    public static final int SCREEN_SHAKE = 2;
+    public static final int LASER_TRAIL = 3;
+
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private static final int HIT_FLASH_TICKS = 8;
+    private static final int SCREEN_SHAKE_TICKS = 20;
+    private static final int LASER_TRAIL_TICKS = 10;
+    private static final int SHAKE_AMPLITUDE = 10;
+
+    // Fades indexed by ticks elapsed, so drawing never allocates a Color
+    private static final Color[] HIT_FLASH_COLORS = new Color[HIT_FLASH_TICKS];
+    private static final Color[] LASER_TRAIL_COLORS = new Color[LASER_TRAIL_TICKS];
+    private static final Stroke LASER_TRAIL_STROKE = new BasicStroke(3f, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND);
+
+    static {
+        for (int i = 0; i < HIT_FLASH_TICKS; i++) {
+            HIT_FLASH_COLORS[i] = new Color(255, 255, 255, 160 * (HIT_FLASH_TICKS - i) / HIT_FLASH_TICKS);
+        }
+        for (int i = 0; i < LASER_TRAIL_TICKS; i++) {
+            LASER_TRAIL_COLORS[i] = new Color(255, 60, 60, 200 * (LASER_TRAIL_TICKS - i) / LASER_TRAIL_TICKS);
+        }
+    }
+
+    private final boolean[] active;
+    private final int[] types;
+    private final long[] startTicks;
+    private final int[] xs;
+    private final int[] ys;
+    private final int[] endXs;
+    private final int[] endYs;
+    private final int[] sizes;
+    private final Object[] targets;
+    private int cursor = 0;
+
+    // The only shake that matters is the latest one
+    private int shakeSlot = -1;
+
+    private BufferedImage[] explosionFrames = new BufferedImage[0];
+    private int ticksPerExplosionFrame = 3;
+
+    public EffectPool() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public EffectPool(int capacity) {
+        active = new boolean[capacity];
+        types = new int[capacity];
+        startTicks = new long[capacity];
+        xs = new int[capacity];
+        ys = new int[capacity];
+        endXs = new int[capacity];
+        endYs = new int[capacity];
+        sizes = new int[capacity];
+        targets = new Object[capacity];
+    }
+
+    public void setExplosionFrames(BufferedImage[] frames) {
+        explosionFrames = frames;
+    }
+
+    public void setExplosionSpeed(int ticksPerFrame) {
+        ticksPerExplosionFrame = Math.max(1, ticksPerFrame);
+    }
+
+    /**
+     * Explosion centered on the box (x, y, size), e.g. a monster that was just killed
+     */
+    public void spawnExplosion(int x, int y, int size) {
+        int slot = claim(EXPLOSION);
+        xs[slot] = x;
+        ys[slot] = y;
+        sizes[slot] = size;
+    }
+
+    /**
+     * Brief white glow over the box (x, y, size)
+     */
+    public void spawnHitFlash(int x, int y, int size) {
+        int slot = claim(HIT_FLASH);
+        xs[slot] = x;
+        ys[slot] = y;
+        sizes[slot] = size;
+    }
+
+    /**
+     * Fading beam from (fromX, fromY) to (toX, toY)
+     */
+    public void spawnLaserTrail(int fromX, int fromY, int toX, int toY) {
+        int slot = claim(LASER_TRAIL);
+        xs[slot] = fromX;
+        ys[slot] = fromY;
+        endXs[slot] = toX;
+        endYs[slot] = toY;
+    }
+
+    /**
+     * Shakes the target sideways; replaces any shake still running
+     */
+    public void spawnShake(Object target) {
+        if (shakeSlot >= 0 && types[shakeSlot] == SCREEN_SHAKE) {
+            release(shakeSlot);
+        }
+        int slot = claim(SCREEN_SHAKE);
+        targets[slot] = target;
+        shakeSlot = slot;
+    }
+
+    /**
+     * @return Horizontal offset to draw the target at this tick, 0 if it is not shaking
+     */
+    public int getShakeOffset(Object target, long now) {
+        if (shakeSlot < 0 || targets[shakeSlot] != target || RenderQuality.reducedEffects()) {
+            return 0;
+        }
+        long remaining = SCREEN_SHAKE_TICKS - (now - startTicks[shakeSlot]);
+        if (remaining <= 0) {
+            return 0;
+        }
+        double shakeProgress = (double) remaining / SCREEN_SHAKE_TICKS;
+        return (int) (SHAKE_AMPLITUDE * Math.sin(shakeProgress * Math.PI * 4));
+    }
+
+    /**
+     * Frees the slots of effects that have run their course
+     */
+    public void update(long now) {
+        for (int i = 0; i < active.length; i++) {
+            if (active[i] && now - startTicks[i] >= duration(types[i])) {
+                release(i);
+            }
+        }
+    }
+
+    public void draw(Graphics2D g, long now) {
+        for (int i = 0; i < active.length; i++) {
+            if (!active[i]) {
+                continue;
+            }
+            long elapsed = now - startTicks[i];
+            if (elapsed < 0 || elapsed >= duration(types[i])) {
+                continue;
+            }
+
+            switch (types[i]) {
+                case EXPLOSION:
+                    drawExplosion(g, i, explosionFrameAt(elapsed));
+                    break;
+                case HIT_FLASH:
+                    g.setColor(HIT_FLASH_COLORS[(int) elapsed]);
+                    g.fillOval(xs[i] - 5, ys[i] - 5, sizes[i] + 10, sizes[i] + 10);
+                    break;
+                case LASER_TRAIL:
+                    Stroke oldStroke = g.getStroke();
+                    g.setStroke(LASER_TRAIL_STROKE);
+                    g.setColor(LASER_TRAIL_COLORS[(int) elapsed]);
+                    g.drawLine(xs[i], ys[i], endXs[i], endYs[i]);
+                    g.setStroke(oldStroke);
+                    break;
+                default:
+                    // Shakes are applied by whoever draws the target
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Adds the screen area of every effect visible at this tick
+     */
+    public void addBounds(DirtyRegion region, long now) {
+        for (int i = 0; i < active.length; i++) {
+            if (!active[i]) {
+                continue;
+            }
+            long elapsed = now - startTicks[i];
+            if (elapsed < 0 || elapsed >= duration(types[i])) {
+                continue;
+            }
+
+            switch (types[i]) {
+                case EXPLOSION:
+                    int frame = explosionFrameAt(elapsed);
+                    if (frame < explosionFrames.length && explosionFrames[frame] != null) {
+                        int width = explosionFrames[frame].getWidth();
+                        int height = explosionFrames[frame].getHeight();
+                        region.add(xs[i] + (sizes[i] - width) / 2, ys[i] + (sizes[i] - height) / 2, width, height);
+                    }
+                    break;
+                case HIT_FLASH:
+                    region.add(xs[i] - 5, ys[i] - 5, sizes[i] + 10, sizes[i] + 10);
+                    break;
+                case LASER_TRAIL:
+                    int left = Math.min(xs[i], endXs[i]) - 3;
+                    int top = Math.min(ys[i], endYs[i]) - 3;
+                    region.add(left, top, Math.abs(endXs[i] - xs[i]) + 6, Math.abs(endYs[i] - ys[i]) + 6);
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    /**
+     * @return Largest sideways offset a shake can apply
+     */
+    public static int getMaxShakeOffset() {
+        return SHAKE_AMPLITUDE;
+    }
+
+    // Reduced quality skips every other frame, so explosions finish in half the time
+    private static int explosionFrameStep() {
+        return RenderQuality.reducedEffects() ? 2 : 1;
+    }
+
+    private int explosionFrameAt(long elapsed) {
+        return (int) (elapsed / ticksPerExplosionFrame) * explosionFrameStep();
+    }
+
+    private void drawExplosion(Graphics2D g, int slot, int frame) {
+        if (frame >= explosionFrames.length || explosionFrames[frame] == null) {
+            return;
+        }
+        BufferedImage image = explosionFrames[frame];
+
+        // Center the explosion on the box it was spawned for
+        int drawX = xs[slot] + (sizes[slot] - image.getWidth()) / 2;
+        int drawY = ys[slot] + (sizes[slot] - image.getHeight()) / 2;
+        g.drawImage(image, drawX, drawY, null);
+    }
+
+    public void clear() {
+        for (int i = 0; i < active.length; i++) {
+            release(i);
+        }
+    }
+
+    private int duration(int type) {
+        switch (type) {
+            case EXPLOSION:
+                int step = explosionFrameStep();
+                return (explosionFrames.length + step - 1) / step * ticksPerExplosionFrame;
+            case HIT_FLASH:
+                return HIT_FLASH_TICKS;
+            case SCREEN_SHAKE:
+                return SCREEN_SHAKE_TICKS;
+            default:
+                return LASER_TRAIL_TICKS;
+        }
+    }
+
+    /**
+     * Takes the next slot in the ring, overwriting the oldest effect if the ring is full
+     */
+    private int claim(int type) {
+        int slot = -1;
+        for (int i = 0; i < active.length; i++) {
+            int candidate = (cursor + i) % active.length;
+            if (!active[candidate]) {
+                slot = candidate;
+                break;
+            }
+        }
+        if (slot < 0) {
+            slot = cursor;
+            release(slot);
+        }
+        cursor = (slot + 1) % active.length;
+
+        active[slot] = true;
+        types[slot] = type;
+        startTicks[slot] = GameClock.ticks();
+        return slot;
+    }
+
+    private void release(int slot) {
+        active[slot] = false;
+        targets[slot] = null;
+        if (slot == shakeSlot) {
+            shakeSlot = -1;
+        }
+    }
+}
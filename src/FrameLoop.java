@@ -0,0 +1,113 @@
+import javax.swing.SwingUtilities;
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Drives the game from one dedicated thread at a fixed frame rate.
+ * Every frame the task is run on the EDT and waited for, so frames can
+ * never pile up in the event queue. Pacing sleeps for most of the gap and
+ * spins for the last couple of milliseconds, since Thread.sleep alone
+ * overshoots by a millisecond or more on most systems.
+ */
+public class FrameLoop {
+    // Below this much remaining time we spin instead of sleeping
+    private static final long SPIN_THRESHOLD_NANOS = 2_000_000L;
+
+    // If a frame runs this many frame lengths late we resync instead of bursting to catch up
+    private static final int MAX_FRAMES_BEHIND = 4;
+
+    private final Runnable frameTask;
+    private volatile long frameNanos;
+    private Worker worker;
+
+    public FrameLoop(Runnable frameTask, int targetFps) {
+        this.frameTask = frameTask;
+        setTargetFps(targetFps);
+    }
+
+    public void setTargetFps(int fps) {
+        frameNanos = 1_000_000_000L / Math.max(1, fps);
+    }
+
+    public int getTargetFps() {
+        return (int) (1_000_000_000L / frameNanos);
+    }
+
+    public synchronized void start() {
+        if (worker != null) {
+            return;
+        }
+        worker = new Worker();
+        Thread thread = new Thread(worker, "game-frame-loop");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops the loop. Safe to call from the frame task itself; a frame that
+     * is already running finishes, no further frames are started.
+     */
+    public synchronized void stop() {
+        if (worker != null) {
+            worker.running = false;
+            worker = null;
+        }
+    }
+
+    public synchronized boolean isRunning() {
+        return worker != null;
+    }
+
+    private class Worker implements Runnable {
+        private volatile boolean running = true;
+
+        // Runs on the EDT; checks the flag so no frame runs after stop()
+        private final Runnable guardedTask = () -> {
+            if (running) {
+                frameTask.run();
+            }
+        };
+
+        @Override
+        public void run() {
+            long nextFrame = System.nanoTime();
+            while (running) {
+                nextFrame += frameNanos;
+
+                try {
+                    SwingUtilities.invokeAndWait(guardedTask);
+                } catch (InterruptedException e) {
+                    return;
+                } catch (InvocationTargetException e) {
+                    System.out.println("Error in game frame: " + e.getCause());
+                    e.getCause().printStackTrace();
+                }
+
+                long now = System.nanoTime();
+                if (now - nextFrame > frameNanos * MAX_FRAMES_BEHIND) {
+                    nextFrame = now;
+                }
+                waitUntil(nextFrame);
+            }
+        }
+
+        private void waitUntil(long deadline) {
+            long remaining = deadline - System.nanoTime();
+            while (remaining > SPIN_THRESHOLD_NANOS) {
+                long sleepMillis = (remaining - SPIN_THRESHOLD_NANOS) / 1_000_000L;
+                if (sleepMillis <= 0) {
+                    break;
+                }
+                try {
+                    Thread.sleep(sleepMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                remaining = deadline - System.nanoTime();
+            }
+            while (deadline - System.nanoTime() > 0) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/**
+ * Time spent in each phase of rendering a scene, summed over many frames.
+ * GamePanel records into one when it is given one, see GamePanel.setFrameTimings.
+ */
+public class FrameTimings {
+    public static final int BACKGROUND = 0;
+    public static final int SHOOTER = 1;
+    public static final int PREPARE = 2;
+    public static final int MONSTERS = 3;
+    public static final int EFFECTS = 4;
+    public static final int OVERLAY = 5;
+    // Monsters and effects together when drawn by the parallel layer renderer
+    public static final int LAYERS = 6;
+
+    private static final String[] NAMES = {
+        "background", "shooter", "prepare", "monsters", "effects", "overlay", "layers"
+    };
+
+    private final long[] totals = new long[NAMES.length];
+    private long phaseStart;
+    private int frames = 0;
+
+    /**
+     * Starts timing a frame; the first phase begins now
+     */
+    public void beginFrame() {
+        frames++;
+        phaseStart = System.nanoTime();
+    }
+
+    /**
+     * Ends the given phase; the next one begins now
+     */
+    public void endPhase(int phase) {
+        long now = System.nanoTime();
+        totals[phase] += now - phaseStart;
+        phaseStart = now;
+    }
+
+    public void reset() {
+        java.util.Arrays.fill(totals, 0);
+        frames = 0;
+    }
+
+    public int getFrames() {
+        return frames;
+    }
+
+    public static int getPhaseCount() {
+        return NAMES.length;
+    }
+
+    public static String getPhaseName(int phase) {
+        return NAMES[phase];
+    }
+
+    /**
+     * @return Average milliseconds per frame spent in the phase
+     */
+    public double getAverageMillis(int phase) {
+        return frames == 0 ? 0 : totals[phase] / 1_000_000.0 / frames;
+    }
+}
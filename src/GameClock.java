@@ -0,0 +1,36 @@
+/**
+ * Game time, advanced by one tick per game frame.
+ * It only moves while the frame loop runs, so everything timed from it
+ * (sprite animation, effects) stops when the game is paused.
+ */
+public class GameClock {
+    private static final long FRAME_NANOS = 1_000_000_000L / Constants.TARGET_FPS;
+
+    // Only written from the frame loop on the EDT
+    private static volatile long ticks = 0;
+
+    private GameClock() {
+    }
+
+    /**
+     * Advances the clock by one frame; called once per frame by the game loop
+     */
+    public static void tick() {
+        ticks++;
+    }
+
+    /**
+     * @return Number of game frames run so far
+     */
+    public static long ticks() {
+        return ticks;
+    }
+
+    public static long millis() {
+        return ticks * FRAME_NANOS / 1_000_000L;
+    }
+
+    public static void reset() {
+        ticks = 0;
+    }
+}
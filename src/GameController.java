@@ -1,6 +1,8 @@
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
@@ -9,11 +11,10 @@ import java.util.concurrent.CopyOnWriteArrayList;
 public class GameController {
     // Game components
     private CopyOnWriteArrayList<Monster> monsters;
-    private Timer gameTimer;
+    private FrameLoop gameLoop;
     private Timer clearInputTimer;
     private JTextField inputField;
-    private JLabel scoreLabel;
-    private JLabel livesLabel;
+    private Hud hud;
     private GamePanel gamePanel; 
     private Timer jamTimer;
     private PowerUpManager powerUpManager;
@@ -30,6 +31,15 @@ public class GameController {
     // Map for scrambled keys
     private Map<Character, Character> scrambledKeyMap;
     
+    // Optional constraint for spawned words (null = any word of the current difficulty)
+    private WordIndex.Query wordQuery;
+    
+    // Text file feeding words in order for book practice mode
+    private BookWordStream bookStream;
+    
+    // When the frame loop last started or resumed; frames begun before it are not timed
+    private long loopStartNanos;
+    
     public GameController() {
         monsters = new CopyOnWriteArrayList<>(); 
         score = 0;
@@ -41,6 +51,8 @@ public class GameController {
         // Initialize scrambled key map
         scrambledKeyMap = new HashMap<>();
         
+        hud = new Hud();
+        
         // Initialize PowerUpManager
         powerUpManager = new PowerUpManager(this);
         
@@ -66,15 +78,30 @@ public class GameController {
     }
     
     private void initializeComponents() {
-        // Create score and lives labels
-        scoreLabel = new JLabel("Score: " + score);
-        scoreLabel.setForeground(Color.WHITE);
-        
-        livesLabel = new JLabel("Lives: " + lives);
-        livesLabel.setForeground(Color.WHITE);
-        
+        // Score and lives are drawn in the game frame by the HUD
+        hud.setScore(score);
+        hud.setLives(lives);
 
+        // The field only collects keystrokes; the HUD draws the typed line
         inputField = new JTextField();
+        inputField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                hud.setInputText(inputField.getText());
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                hud.setInputText(inputField.getText());
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                // Attribute changes do not affect the typed text
+            }
+        });
+        // Arrow keys and Home move the real caret; the HUD draws it there
+        inputField.addCaretListener(e -> hud.setInputCaret(e.getDot()));
         inputField.addKeyListener(new KeyAdapter() {
             @Override
             public void keyTyped(KeyEvent e) {
@@ -117,25 +144,18 @@ public class GameController {
     }
     
     public void startGame() {
-        if (gameTimer != null) {
-            gameTimer.stop();
+        if (gameLoop != null) {
+            gameLoop.stop();
         }
 
         resetGame();
         gameRunning = true;
 
-        gameTimer = new Timer(16, e -> {
-            updateGame();
-            if (gamePanel != null) {
-                gamePanel.repaint();
-            }
-
-            if (Constants.RANDOM.nextInt(100) < Constants.SPAWN_CHANCE) {
-                spawnMonster();
-            }
-        });
-        
-        gameTimer.start();
+        // One paced loop drives simulation, animation and rendering
+        if (gameLoop == null) {
+            gameLoop = new FrameLoop(this::runFrame, Constants.TARGET_FPS);
+        }
+        startLoop();
 
         if (inputField != null) {
             inputField.setText("");
@@ -148,12 +168,36 @@ public class GameController {
         spawnMonster();
     }
     
+    private void runFrame() {
+        long frameStart = System.nanoTime();
+        GameClock.tick();
+        updateGame();
+
+        if (Constants.RANDOM.nextInt(100) < Constants.SPAWN_CHANCE) {
+            spawnMonster();
+        }
+
+        if (gamePanel != null) {
+            gamePanel.renderFrame();
+        }
+
+        // A frame that ended the game waited in the game-over dialog, which
+        // says nothing about rendering; the loop restarted while it was open
+        if (frameStart >= loopStartNanos) {
+            RenderQuality.recordFrame(System.nanoTime() - frameStart);
+        }
+    }
+    
+    private void startLoop() {
+        loopStartNanos = System.nanoTime();
+        RenderQuality.resetHistory();
+        gameLoop.start();
+    }
+    
     private void spawnMonster() {
         if (!gameRunning) return;
 
-        // Get words for the current difficulty level
-        String[] currentWords = Constants.DIFFICULTY_WORDS.get(Constants.currentDifficulty);
-        String word = currentWords[Constants.RANDOM.nextInt(currentWords.length)];
+        String word = nextWord();
 
         // Calculate spawn position
         int panelWidth = Constants.WIDTH;
@@ -177,6 +221,123 @@ public class GameController {
         monsters.add(monster);
     }
 
+    private String nextWord() {
+        String word = drawWord();
+        // Book words must keep their order, so they are never redrawn
+        if (!Constants.prefixDisjointWords || Constants.currentWordSource == Constants.WORD_SOURCE_BOOK) {
+            return word;
+        }
+
+        // First letters of the words currently on screen
+        int occupied = 0;
+        for (Monster monster : monsters) {
+            occupied |= WordIndex.firstLetterMask(monster.getWord());
+        }
+
+        // Redraw from the normal source a few times, it keeps weighting and word source intact
+        for (int retry = 0; retry < Constants.PREFIX_DISJOINT_RETRIES; retry++) {
+            if ((WordIndex.firstLetterMask(word) & occupied) == 0) {
+                return word;
+            }
+            word = drawWord();
+        }
+        if ((WordIndex.firstLetterMask(word) & occupied) == 0) {
+            return word;
+        }
+
+        // Still colliding: ask the same source for a word with a free first letter
+        String free = drawWordAvoiding(occupied);
+        return free != null ? free : word;
+    }
+
+    /**
+     * Like drawWord, but never starting with one of the excluded letters
+     * @return The word, or null if the current source has none
+     */
+    private String drawWordAvoiding(int excludedFirstLetters) {
+        if (Constants.currentWordSource == Constants.WORD_SOURCE_PSEUDO) {
+            return Constants.DIFFICULTY_PSEUDO_WORDS.get(Constants.currentDifficulty).nextWord(excludedFirstLetters);
+        }
+
+        WordIndex index = Constants.DIFFICULTY_INDEX.get(Constants.currentDifficulty);
+        if (wordQuery != null && index.count(wordQuery) > 0) {
+            // A colliding word that obeys the drill beats a free one that breaks it
+            return index.pick(wordQuery, excludedFirstLetters, Constants.RANDOM);
+        }
+        return index.pickWithFirstLetterNotIn(excludedFirstLetters, Constants.RANDOM);
+    }
+
+    private String drawWord() {
+        // Next token of the book file
+        if (Constants.currentWordSource == Constants.WORD_SOURCE_BOOK && bookStream != null) {
+            String bookWord = bookStream.nextWord();
+            if (bookWord != null) {
+                return bookWord;
+            }
+        }
+
+        // Endless pseudo-words from the Markov model
+        if (Constants.currentWordSource == Constants.WORD_SOURCE_PSEUDO) {
+            String pseudoWord = Constants.DIFFICULTY_PSEUDO_WORDS.get(Constants.currentDifficulty).nextWord();
+            if (pseudoWord != null) {
+                return pseudoWord;
+            }
+        }
+
+        // Constrained pick through the letter/bigram index, if a query is set
+        if (wordQuery != null) {
+            WordIndex index = Constants.DIFFICULTY_INDEX.get(Constants.currentDifficulty);
+            String constrained = index.pick(wordQuery, Constants.RANDOM);
+            if (constrained != null) {
+                return constrained;
+            }
+        }
+
+        // Get a word for the current difficulty level, weighted toward weak letters
+        return Constants.DIFFICULTY_SAMPLER.get(Constants.currentDifficulty).next();
+    }
+
+    /**
+     * Restricts spawned words to those matching the query, e.g. for training modes.
+     * Falls back to any word of the current difficulty when nothing matches.
+     * @param query The constraint, or null to spawn any word
+     */
+    public void setWordQuery(WordIndex.Query query) {
+        this.wordQuery = query;
+    }
+
+    /**
+     * Switches to book practice mode, spawning the file's words in order
+     * @param stream The opened book, or null to go back to the word lists
+     */
+    public void setBookStream(BookWordStream stream) {
+        closeBook();
+        this.bookStream = stream;
+        Constants.currentWordSource = (stream != null) ? Constants.WORD_SOURCE_BOOK : Constants.WORD_SOURCE_DICTIONARY;
+    }
+
+    private void saveBookProgress() {
+        if (bookStream != null) {
+            bookStream.saveProgress();
+        }
+    }
+
+    /**
+     * Saves where the book was left off and closes its file, e.g. when the window closes
+     */
+    public void closeBook() {
+        if (bookStream == null) {
+            return;
+        }
+        bookStream.saveProgress();
+        try {
+            bookStream.close();
+        } catch (java.io.IOException e) {
+            System.out.println("Error closing book file: " + e.getMessage());
+        }
+        bookStream = null;
+    }
+
     public void addMonster(Monster monster) {
         if (monster != null) {
             monsters.add(monster);
@@ -199,6 +360,7 @@ public class GameController {
             // Check if monster reached the base
             if (monster.getX(panelWidth) <= thresholdX) {
                 monstersToRemove.add(monster);
+                LetterWeakness.recordMiss(monster.getWord());
                 // Check if the monster is a boss (has multiple health points)
                 // and deduct lives accordingly
                 if (monster.getHealth() > 1) {
@@ -260,8 +422,10 @@ public class GameController {
             monsterToHit.hit();
             
             // Decrease monster health
+            String hitWord = monsterToHit.getWord();
             monsterToHit.decreaseHealth();
             if (monsterToHit.getHealth() <= 0) {
+                LetterWeakness.recordHit(hitWord);
                 if (canSplit) {
                     // Add child monsters
                     Monster[] children = monsterToHit.split();
@@ -343,37 +507,7 @@ public class GameController {
         }
         
         // Show difficulty change notification
-        JLabel notification = new JLabel("Difficulty increased to " + difficultyName + "!");
-        notification.setForeground(notificationColor);
-        notification.setFont(new Font("Arial", Font.BOLD, 21));
-        notification.setHorizontalAlignment(SwingConstants.CENTER); 
-        
-        JLayeredPane layeredPane = gamePanel.getRootPane().getLayeredPane();
-        int panelWidth = gamePanel.getWidth();
-        int panelHeight = gamePanel.getHeight();
-        
-        // Set notification size
-        int notificationWidth = 400;
-        int notificationHeight = 40;
-        
-        // Center the notification on the game panel
-        notification.setBounds(
-            (panelWidth - notificationWidth) / 2, 
-            panelHeight / 3, 
-            notificationWidth, 
-            notificationHeight
-        );
-        
-        layeredPane.add(notification, JLayeredPane.POPUP_LAYER);
-        
-        // Remove notification after 2 seconds
-        Timer notificationTimer = new Timer(2000, e -> {
-            layeredPane.remove(notification);
-            layeredPane.repaint();
-            ((Timer)e.getSource()).stop();
-        });
-        notificationTimer.setRepeats(false);
-        notificationTimer.start();
+        hud.showNotice("Difficulty increased to " + difficultyName + "!", notificationColor);
     }    
     
     // Input scrambling functionality
@@ -382,14 +516,10 @@ public class GameController {
         scrambleEndTime = System.currentTimeMillis() + Constants.SCRAMBLE_DURATION;
 
         generateScrambledKeyMap();
+        hud.setInputState(isKeyboardJammed, isInputScrambled);
         
         if (inputField != null) {
-            inputField.setBackground(new Color(200, 200, 255)); 
             inputField.setText("");
-            SwingUtilities.invokeLater(() -> {
-                inputField.repaint();
-                inputField.getParent().repaint();
-            });
         }
     }
     
@@ -410,15 +540,11 @@ public class GameController {
     private void endInputScramble() {
         isInputScrambled = false;
         scrambledKeyMap.clear();
+        hud.setInputState(isKeyboardJammed, isInputScrambled);
         
         if (inputField != null) {
-            inputField.setBackground(Color.WHITE);
             inputField.setText("");
             inputField.requestFocus();
-            SwingUtilities.invokeLater(() -> {
-                inputField.repaint();
-                inputField.getParent().repaint();
-            });
         }
     }
     
@@ -426,29 +552,21 @@ public class GameController {
     public void startKeyboardJam() {
         isKeyboardJammed = true;
         jamEndTime = System.currentTimeMillis() + Constants.JAM_DURATION;
+        hud.setInputState(isKeyboardJammed, isInputScrambled);
         
         if (inputField != null) {
             inputField.setEnabled(false);
-            inputField.setBackground(new Color(255, 200, 200)); // Light red background
-            SwingUtilities.invokeLater(() -> {
-                inputField.repaint();
-                inputField.getParent().repaint();
-            });
         }
     }
     
     private void endKeyboardJam() {
         isKeyboardJammed = false;
+        hud.setInputState(isKeyboardJammed, isInputScrambled);
         
         if (inputField != null) {
             inputField.setEnabled(true);
-            inputField.setBackground(Color.WHITE);
             inputField.setText("");
             inputField.requestFocus();
-            SwingUtilities.invokeLater(() -> {
-                inputField.repaint();
-                inputField.getParent().repaint();
-            });
         }
     }
     
@@ -459,26 +577,15 @@ public class GameController {
         // Check if we need to increase difficulty
         updateDifficultyLevel();
         
-        if (scoreLabel != null) {
-            scoreLabel.setText("Score: " + score);
-        }
+        hud.setScore(score);
     }
     
     // Handling gaining an extra life 
     public void increaseLife() {
         lives++;
         
-        if (livesLabel != null) {
-            livesLabel.setText("Lives: " + lives);
-            livesLabel.setForeground(Color.GREEN);
-
-            Timer colorTimer = new Timer(500, e -> {
-                livesLabel.setForeground(Color.WHITE);
-                ((Timer)e.getSource()).stop();
-            });
-            colorTimer.setRepeats(false);
-            colorTimer.start();
-        }
+        hud.setLives(lives);
+        hud.flashLives(Color.GREEN);
     }
     
     // Modified to take the number of lives to decrease
@@ -489,20 +596,10 @@ public class GameController {
             gamePanel.playHurtSound(); 
         }
         
-        if (livesLabel != null) {
-            livesLabel.setText("Lives: " + lives);
-            
-            // Visual feedback that player lost a life
-            livesLabel.setForeground(Color.RED);
-            
-            // Timer to reset color after a brief period
-            Timer colorTimer = new Timer(500, e -> {
-                livesLabel.setForeground(Color.WHITE);
-                ((Timer)e.getSource()).stop();
-            });
-            colorTimer.setRepeats(false);
-            colorTimer.start();
-        }
+        hud.setLives(lives);
+        
+        // Visual feedback that player lost a life
+        hud.flashLives(Color.RED);
         
         // Check for game over
         if (lives <= 0) {
@@ -512,9 +609,10 @@ public class GameController {
     
     private void gameOver() {
         gameRunning = false;
+        saveBookProgress();
         
-        if (gameTimer != null) {
-            gameTimer.stop();
+        if (gameLoop != null) {
+            gameLoop.stop();
         }
         
         if (gamePanel != null) {
@@ -571,27 +669,22 @@ public class GameController {
         // Reset difficulty to easy
         Constants.currentDifficulty = Constants.DIFFICULTY_EASY;
         
-        if (scoreLabel != null) {
-            scoreLabel.setText("Score: " + score);
-        }
-        
-        if (livesLabel != null) {
-            livesLabel.setText("Lives: " + lives);
-            livesLabel.setForeground(Color.WHITE); // Reset color
-        }
+        hud.setScore(score);
+        hud.setLives(lives);
+        hud.clearTimed();
         
         gameRunning = true;
         isKeyboardJammed = false;
         isInputScrambled = false;
         scrambledKeyMap.clear();
+        hud.setInputState(isKeyboardJammed, isInputScrambled);
         
         if (inputField != null) {
             inputField.setEnabled(true);
-            inputField.setBackground(Color.WHITE);
         }
         
-        if (gameTimer != null) {
-            gameTimer.stop(); 
+        if (gameLoop != null) {
+            gameLoop.stop(); 
         }
         
         // Reset monster speed
@@ -599,31 +692,34 @@ public class GameController {
         
         // Reset power-up streak
         powerUpManager.resetStreak();
+        
+        // Forget letter weaknesses from the previous session
+        LetterWeakness.reset();
 
         if (gamePanel != null) {
-            powerUpManager.setGamePanel(gamePanel);
-
             gamePanel.startBackgroundMusic();
         }
     }
 
     public void stopGame() {
-        if (gameTimer != null) {
-            gameTimer.stop();
+        saveBookProgress();
+        
+        if (gameLoop != null) {
+            gameLoop.stop();
             gameRunning = false;
         }
     }    
 
     public void pauseGame() {
-        if (gameRunning && gameTimer != null) {
-            gameTimer.stop();
+        if (gameRunning && gameLoop != null) {
+            gameLoop.stop();
             gameRunning = false;
         }
     }
 
     public void resumeGame() {
-        if (!gameRunning && gameTimer != null) {
-            gameTimer.start();
+        if (!gameRunning && gameLoop != null) {
+            startLoop();
             gameRunning = true;
         }
     }
@@ -642,21 +738,13 @@ public class GameController {
         return inputField;
     }
     
-    public JLabel getScoreLabel() {
-        return scoreLabel;
-    }
-    
-    public JLabel getLivesLabel() {
-        return livesLabel;
+    public Hud getHud() {
+        return hud;
     }
     
     public void setGamePanel(JPanel panel) {
         if (panel instanceof GamePanel) {
             this.gamePanel = (GamePanel) panel;
-            
-            if (powerUpManager != null) {
-                powerUpManager.setGamePanel(panel);
-            }
         } else {
             System.out.println("Warning: Expected GamePanel instance but received different panel type");
             this.gamePanel = null;
@@ -5,8 +5,6 @@ import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.awt.image.BufferedImage;
 import java.net.URL;
-import javax.sound.sampled.*;
-import java.io.File;
 
 public class GameOver extends JPanel {
     private JButton playAgainButton;
@@ -19,9 +17,7 @@ public class GameOver extends JPanel {
     private static final Color BUTTON_HOVER_COLOR = new Color(139, 0, 0);
     
     // Sound-related fields
-    private final String GAME_OVER_SOUND = "src/assets/Sounds/GameOverSound.wav";
-    private Clip gameOverSoundClip;
-    private boolean isSoundPlaying = false;
+    private Sound gameOverSound;
 
     public GameOver(ActionListener playAgainAction, ActionListener exitAction, int score) {
         this.finalScore = score;
@@ -91,36 +87,15 @@ public class GameOver extends JPanel {
      * Initialize sound effects
      */
     private void initSounds() {
-        try {
-            File gameOverSoundFile = new File(GAME_OVER_SOUND);
-            if (gameOverSoundFile.exists()) {
-                AudioInputStream audioStream = AudioSystem.getAudioInputStream(gameOverSoundFile);
-                gameOverSoundClip = AudioSystem.getClip();
-                gameOverSoundClip.open(audioStream);
-                
-                // Add a listener to detect when sound finishes playing
-                gameOverSoundClip.addLineListener(event -> {
-                    if (event.getType() == LineEvent.Type.STOP) {
-                        isSoundPlaying = false;
-                    }
-                });
-            } else {
-                System.out.println("Game over sound file not found: " + GAME_OVER_SOUND);
-            }
-        } catch (Exception e) {
-            System.out.println("Error initializing game over sound: " + e.getMessage());
-            e.printStackTrace();
-        }
+        gameOverSound = SoundCache.get("GameOverSound.wav");
     }
     
     /**
      * Play the game over sound effect
      */
     public void playGameOverSound() {
-        if (gameOverSoundClip != null && !isSoundPlaying) {
-            gameOverSoundClip.setFramePosition(0);
-            gameOverSoundClip.start();
-            isSoundPlaying = true;
+        if (!AudioEngine.isPlaying(gameOverSound)) {
+            AudioEngine.play(gameOverSound, 1f, AudioEngine.PRIORITY_HIGH);
         }
     }
     
@@ -128,10 +103,7 @@ public class GameOver extends JPanel {
      * Stop the game over sound if it's playing
      */
     public void stopGameOverSound() {
-        if (gameOverSoundClip != null && isSoundPlaying) {
-            gameOverSoundClip.stop();
-            isSoundPlaying = false;
-        }
+        AudioEngine.stop(gameOverSound);
     }
     
     /**
@@ -139,9 +111,6 @@ public class GameOver extends JPanel {
      */
     public void cleanup() {
         stopGameOverSound();
-        if (gameOverSoundClip != null) {
-            gameOverSoundClip.close();
-        }
     }
     
     private JButton createMenuButton(String text) {
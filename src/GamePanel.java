@@ -1,132 +1,147 @@
 import javax.swing.*;
 import java.awt.*;
-import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Iterator;
-import javax.sound.sampled.*;
-import java.io.File;
-import java.io.IOException;
 
 public class GamePanel extends JPanel {
     private GameController gameController;
-    private static final Image SHOOTER_IMAGE;
+    private static final AnimatedSprite SHOOTER_SPRITE;
     
     // Sound effects
-    private final String GUN_SOUND = "src/assets/Sounds/GunSound.wav";
-    private final String CLICK_SOUND = "src/assets/Sounds/Click.wav";
-    private final String HURT_SOUND = "src/assets/Sounds/HurtSound.wav"; 
-    private final String BACKGROUND_MUSIC = "src/assets/Sounds/Backround.wav";
-    private ArrayList<Clip> gunSoundClips = new ArrayList<>();
-    private ArrayList<Clip> clickSoundClips = new ArrayList<>();
-    private ArrayList<Clip> hurtSoundClips = new ArrayList<>(); 
-    private Clip backgroundMusicClip;
-    private static final int MAX_SIMULTANEOUS_SOUNDS = 3;
+    // Streamed by MusicPlayer
+    private static final String BACKGROUND_MUSIC = "Backround.wav";
+    // Shared from SoundCache and played through AudioEngine, which mixes overlapping shots
+    private Sound gunSound;
+    private Sound clickSound;
+    private Sound hurtSound;
     
     // Laser beam animation properties
-    private static final Image[] LASER_BEAM_FRAMES; 
+    private static final AnimationFrames LASER_BEAM_SOURCE;
+    private BufferedImage[] laserBeamFrames; 
     private boolean isShootingAnimation = false; 
     private int currentLaserFrame = 0; 
     private int laserAnimationSpeed = 1; 
     private int frameCounter = 0; 
-    private Image backgroundImage = null; 
-    private Image cloudsImage = null; 
+    
+    // Background and cloud overlay, pre-rendered at the panel size
+    private final BackgroundLayers backgroundLayers = new BackgroundLayers();
+
+    // Shooter and laser frames pre-rotated by angle bucket (about 32 MB at most)
+    private final RotationCache rotationCache = new RotationCache(32L * 1024 * 1024);
     private Monster targetMonster;
-    private Timer animationTimer;
     private int attackFrame = 0;
     private static final int MAX_ATTACK_FRAMES = 10;
-    private static final int SHAKE_DURATION = 20;
-    private int shakeFrame = 0;
     private boolean shouldCenterShooter = false;
     private long shooterCenterDelayMillis = 1000; 
     private long shooterCenterTimeTarget = 0;
     
     // Explosion animation fields
-    private static final Image[] EXPLOSION_FRAMES;
-    private HashMap<Monster, ExplosionAnimation> explosions = new HashMap<>();
-    private int explosionAnimationSpeed = 3; // Default explosion animation speed
+    private static final AnimationFrames EXPLOSION_SOURCE;
+    private BufferedImage[] explosionFrames;
+
+    // Explosions, hit flashes, shakes and laser trails in a fixed ring of slots
+    private final EffectPool effects = new EffectPool();
+    private final MonsterLod monsterLod = new MonsterLod();
+    // This frame's monsters after culling, with their detail bits and shake offsets
+    private final ArrayList<Monster> visibleMonsters = new ArrayList<>();
+    private int[] visibleDetails = new int[64];
+    private int[] visibleShakes = new int[64];
+    // Optional parallel rasterizer for full redraws, see Constants.parallelLayerRendering
+    private LayerRenderer layerRenderer;
+    // What each of its layers covers this frame: bodies (drawn directly), labels, effects
+    private final Rectangle[] layerAreas = { null, new Rectangle(), new Rectangle() };
+    private final DirtyRegion effectBounds = new DirtyRegion();
+    // Union of the visible monsters' bounds, set by prepareMonsters
+    private final Rectangle visibleMonsterArea = new Rectangle();
+    // Phase timings of renderScene, only set while benchmarking
+    private FrameTimings frameTimings;
+
+    // Where the shooter was last drawn and which way it faced
+    private int shooterSize = 0;
+    private int shooterCenterX = 0;
+    private int shooterCenterY = 0;
+    private double shooterAngle = 0;
+
+    // Dirty-rectangle tracking: what this frame's and last frame's elements cover
+    private final DirtyRegion dirtyRegion = new DirtyRegion();
+    private DirtyRegion currentBounds = new DirtyRegion();
+    private DirtyRegion previousBounds = new DirtyRegion();
+    private final Rectangle scratchBounds = new Rectangle();
+    private final Rectangle clipBounds = new Rectangle();
+    private final Rectangle viewBounds = new Rectangle();
+    private boolean fullRedrawNeeded = true;
+    // Quality tier the buffer was last rendered at, to redraw everything when it changes
+    private int renderedQualityTier = RenderQuality.TIER_FULL;
+    
+    // Back buffer the scene is rendered into once per frame
+    private VolatileImage backBuffer;
     
     static {
-        ImageIcon icon = null;
+        AnimatedSprite shooter = null;
         try {
-            icon = new ImageIcon(GamePanel.class.getResource("/assets/Shooter.gif"));
-            if (icon.getIconWidth() <= 0) {
-                System.out.println("Warning: Shooter image loaded but has invalid dimensions");
-                icon = null;
-            }
+            shooter = AssetPreloader.sprite("/assets/Shooter.gif");
         } catch (Exception e) {
             System.out.println("Failed to load shooter image: " + e.getMessage());
         }
-        SHOOTER_IMAGE = (icon != null) ? icon.getImage() : null;
-        
-        LASER_BEAM_FRAMES = new Image[14];
-        for (int i = 0; i < 14; i++) {
-            try {
-                String path = "/assets/Laser/Laser_Beam" + (i + 1) + ".png";
-                ImageIcon laserIcon = new ImageIcon(GamePanel.class.getResource(path));
-                if (laserIcon.getIconWidth() <= 0) {
-                    System.out.println("Warning: Laser Beam frame " + (i + 1) + " loaded but has invalid dimensions");
-                    LASER_BEAM_FRAMES[i] = null;
-                } else {
-                    LASER_BEAM_FRAMES[i] = laserIcon.getImage();
-                }
-            } catch (Exception e) {
-                System.out.println("Failed to load Laser Beam frame " + (i + 1) + ": " + e.getMessage());
-                LASER_BEAM_FRAMES[i] = null;
-            }
-        }
+        SHOOTER_SPRITE = shooter;
         
-        // Load explosion frames
-        EXPLOSION_FRAMES = new Image[12];
-        for (int i = 0; i < 12; i++) {
-            try {
-                String path = "/assets/Explosion/Explosion" + (i + 1) + ".png";
-                ImageIcon explosionIcon = new ImageIcon(GamePanel.class.getResource(path));
-                if (explosionIcon.getIconWidth() <= 0) {
-                    System.out.println("Warning: Explosion frame " + (i + 1) + " loaded but has invalid dimensions");
-                    EXPLOSION_FRAMES[i] = null;
-                } else {
-                    EXPLOSION_FRAMES[i] = explosionIcon.getImage();
-                }
-            } catch (Exception e) {
-                System.out.println("Failed to load Explosion frame " + (i + 1) + ": " + e.getMessage());
-                EXPLOSION_FRAMES[i] = null;
-            }
-        }
+        // Decoded once, usually already by AssetPreloader; setLaserSize/setExplosionSize pick scaled copies
+        LASER_BEAM_SOURCE = AssetPreloader.frames("Laser Beam", "/assets/Laser/Laser_Beam", 14);
+        EXPLOSION_SOURCE = AssetPreloader.frames("Explosion", "/assets/Explosion/Explosion", 12);
     }
     
     public GamePanel(GameController gameController) {
         this.gameController = gameController;
         setBackground(Color.BLACK);
         gameController.setGamePanel(this);
+
+        if (Constants.parallelLayerRendering && LayerRenderer.isUseful()) {
+            // Labels go above all bodies here, unlike the serial path that draws each monster whole.
+            // The overlay stays serial: clouds cover the whole frame, so compositing them costs as much as drawing them
+            layerRenderer = new LayerRenderer(
+                (g, width, height) -> drawMonsters(g, width, height, ~Monster.DETAIL_LABEL, null),
+                (g, width, height) -> drawMonsters(g, width, height, Monster.DETAIL_LABEL, null),
+                (g, width, height) -> effects.draw(g, GameClock.ticks()));
+        } else if (Constants.parallelLayerRendering) {
+            System.out.println("Parallel layer rendering needs more than one processor, drawing layers in turn");
+        }
         
         // Initialize sound effects
         initSounds();
         
-        // Try to load default background image
-        try {
-            ImageIcon bgIcon = new ImageIcon(GamePanel.class.getResource("/assets/BGniKoKoAndMarie_2.png"));
-            if (bgIcon.getIconWidth() > 0) {
-                backgroundImage = bgIcon.getImage();
-            }
-        } catch (Exception e) {
-            System.out.println("No default background image found or error loading it: " + e.getMessage());
+        // Default background and clouds, decoded by AssetPreloader while the menu showed
+        BufferedImage background = AssetPreloader.image("/assets/BGniKoKoAndMarie_2.png");
+        if (background != null) {
+            backgroundLayers.setBackgroundImage(background);
+        } else {
+            System.out.println("No default background image found");
         }
         
-        // Try to load clouds image
-        try {
-            ImageIcon cloudsIcon = new ImageIcon(GamePanel.class.getResource("/assets/CloudsniKoKoAndMarie_4.png"));
-            if (cloudsIcon.getIconWidth() > 0) {
-                cloudsImage = cloudsIcon.getImage();
-            }
-        } catch (Exception e) {
-            System.out.println("No clouds image found or error loading it: " + e.getMessage());
+        BufferedImage clouds = AssetPreloader.image("/assets/CloudsniKoKoAndMarie_4.png");
+        if (clouds != null) {
+            backgroundLayers.setCloudsImage(clouds);
+        } else {
+            System.out.println("No clouds image found");
         }
-    
-        // Setup animation timer
-        animationTimer = new Timer(16, e -> updateAnimations());
-        animationTimer.start();
         
+        // The input field is invisible, so clicking the game is how focus comes back to it
+        addMouseListener(new java.awt.event.MouseAdapter() {
+            @Override
+            public void mousePressed(java.awt.event.MouseEvent e) {
+                gameController.getInputField().requestFocusInWindow();
+            }
+        });
+        
+        // Rebuild the static layers only when the panel size changes
+        addComponentListener(new java.awt.event.ComponentAdapter() {
+            @Override
+            public void componentResized(java.awt.event.ComponentEvent e) {
+                backgroundLayers.invalidate();
+            }
+        });
+        
+
         // Set initial laser size
         setLaserSize(100, 60);
         
@@ -160,153 +175,44 @@ public class GamePanel extends JPanel {
      * Initialize sound effects
      */
     private void initSounds() {
-        try {
-            // Pre-load multiple gun sound clips for simultaneous playback
-            for (int i = 0; i < MAX_SIMULTANEOUS_SOUNDS; i++) {
-                File gunSoundFile = new File(GUN_SOUND);
-                AudioInputStream gunAudioStream = AudioSystem.getAudioInputStream(gunSoundFile);
-                Clip clip = AudioSystem.getClip();
-                clip.open(gunAudioStream);
-                gunSoundClips.add(clip);
-            }
-            
-            // Pre-load multiple click sound clips for simultaneous playback
-            for (int i = 0; i < MAX_SIMULTANEOUS_SOUNDS; i++) {
-                File clickSoundFile = new File(CLICK_SOUND);
-                AudioInputStream clickAudioStream = AudioSystem.getAudioInputStream(clickSoundFile);
-                Clip clip = AudioSystem.getClip();
-                clip.open(clickAudioStream);
-                clickSoundClips.add(clip);
-            }
-            
-            // Pre-load multiple hurt sound clips for simultaneous playback
-            for (int i = 0; i < MAX_SIMULTANEOUS_SOUNDS; i++) {
-                File hurtSoundFile = new File(HURT_SOUND);
-                AudioInputStream hurtAudioStream = AudioSystem.getAudioInputStream(hurtSoundFile);
-                Clip clip = AudioSystem.getClip();
-                clip.open(hurtAudioStream);
-                hurtSoundClips.add(clip);
-            }
-            
-            // Initialize background music clip
-            initBackgroundMusic();
-            
-        } catch (Exception e) {
-            System.out.println("Error initializing sound clips: " + e.getMessage());
-        }
-    }
-    
-    /**
-     * Initialize the background music clip
-     */
-    private void initBackgroundMusic() {
-        try {
-            File bgMusicFile = new File(BACKGROUND_MUSIC);
-            AudioInputStream bgMusicStream = AudioSystem.getAudioInputStream(bgMusicFile);
-            backgroundMusicClip = AudioSystem.getClip();
-            backgroundMusicClip.open(bgMusicStream);
-            
-            // Add a listener to loop the background music when it reaches the end
-            backgroundMusicClip.addLineListener(event -> {
-                if (event.getType() == LineEvent.Type.STOP && gameController.isGameRunning()) {
-                    // Only restart if not manually stopped (when game is running)
-                    backgroundMusicClip.setFramePosition(0);
-                    backgroundMusicClip.start();
-                }
-            });
-            
-        } catch (UnsupportedAudioFileException | IOException | LineUnavailableException e) {
-            System.out.println("Error initializing background music: " + e.getMessage());
-            backgroundMusicClip = null;
-        }
+        gunSound = SoundCache.get("GunSound.wav");
+        clickSound = SoundCache.get("Click.wav");
+        hurtSound = SoundCache.get("HurtSound.wav");
     }
     
     /**
-     * Start playing background music
+     * Start playing background music, fading out the menu music
      */
     public void startBackgroundMusic() {
-        if (backgroundMusicClip != null) {
-            backgroundMusicClip.setFramePosition(0);
-            backgroundMusicClip.start();
-        }
+        MusicPlayer.play(BACKGROUND_MUSIC);
     }
     
     /**
      * Stop playing background music
      */
     public void stopBackgroundMusic() {
-        if (backgroundMusicClip != null && backgroundMusicClip.isRunning()) {
-            backgroundMusicClip.stop();
-        }
+        MusicPlayer.stop(BACKGROUND_MUSIC);
     }
     
     /**
      * Play the gun sound effect
-     * Uses a pool of sound clips to allow multiple sounds to play simultaneously
      */
     private void playGunSound() {
-        if (gunSoundClips.isEmpty()) {
-            return;
-        }
-
-        for (Clip clip : gunSoundClips) {
-            if (!clip.isRunning()) {
-                clip.setFramePosition(0);
-                clip.start();
-                return;
-            }
-        }
-
-        Clip firstClip = gunSoundClips.get(0);
-        firstClip.stop();
-        firstClip.setFramePosition(0);
-        firstClip.start();
+        AudioEngine.play(gunSound);
     }
     
     /**
      * Play the click sound effect
-     * Uses a pool of sound clips to allow multiple sounds to play simultaneously
      */
     private void playClickSound() {
-        if (clickSoundClips.isEmpty()) {
-            return;
-        }
-
-        for (Clip clip : clickSoundClips) {
-            if (!clip.isRunning()) {
-                clip.setFramePosition(0);
-                clip.start();
-                return;
-            }
-        }
-
-        Clip firstClip = clickSoundClips.get(0);
-        firstClip.stop();
-        firstClip.setFramePosition(0);
-        firstClip.start();
+        AudioEngine.play(clickSound, 1f, AudioEngine.PRIORITY_LOW);
     }
     
     /**
      * Play the hurt sound effect when player loses a life
-     * Uses a pool of sound clips to allow multiple sounds to play simultaneously
      */
     public void playHurtSound() {
-        if (hurtSoundClips.isEmpty()) {
-            return;
-        }
-
-        for (Clip clip : hurtSoundClips) {
-            if (!clip.isRunning()) {
-                clip.setFramePosition(0);
-                clip.start();
-                return;
-            }
-        }
-
-        Clip firstClip = hurtSoundClips.get(0);
-        firstClip.stop();
-        firstClip.setFramePosition(0);
-        firstClip.start();
+        AudioEngine.play(hurtSound, 1f, AudioEngine.PRIORITY_HIGH);
     }
     
     /**
@@ -317,14 +223,15 @@ public class GamePanel extends JPanel {
         try {
             ImageIcon icon = new ImageIcon(GamePanel.class.getResource("/assets/" + filename));
             if (icon.getIconWidth() > 0) {
-                backgroundImage = icon.getImage();
+                backgroundLayers.setBackgroundImage(icon.getImage());
+                invalidateFrame();
                 repaint();
             } else {
                 System.out.println("Warning: Background image loaded but has invalid dimensions");
             }
         } catch (Exception e) {
             System.out.println("Failed to load background image: " + e.getMessage());
-            backgroundImage = null;
+            backgroundLayers.setBackgroundImage(null);
         }
     }
     
@@ -335,7 +242,7 @@ public class GamePanel extends JPanel {
 
     public void setExplosionAnimationSpeed(int speed) {
         if (speed < 1) speed = 1;
-        this.explosionAnimationSpeed = speed;
+        effects.setExplosionSpeed(speed);
         System.out.println("Explosion animation speed set to: " + speed);
     }
 
@@ -350,41 +257,19 @@ public class GamePanel extends JPanel {
     }
 
     public void setLaserSize(int width, int height) {
-        for (int i = 0; i < 14; i++) {
-            try {
-                String path = "/assets/Laser/Laser_Beam" + (i + 1) + ".png";
-                ImageIcon originalIcon = new ImageIcon(GamePanel.class.getResource(path));
-                if (originalIcon.getIconWidth() > 0) {
-                    Image originalImage = originalIcon.getImage();
-                    Image resizedImage = originalImage.getScaledInstance(width, height, Image.SCALE_SMOOTH);
-                    LASER_BEAM_FRAMES[i] = resizedImage;
-                }
-            } catch (Exception e) {
-                System.out.println("Failed to resize Laser Beam frame " + (i + 1) + ": " + e.getMessage());
-            }
-        }
+        laserBeamFrames = LASER_BEAM_SOURCE.getScaled(width, height);
         repaint();
     }
     
     public void setExplosionSize(int width, int height) {
-        for (int i = 0; i < 12; i++) {
-            try {
-                String path = "/assets/Explosion/Explosion" + (i + 1) + ".png";
-                ImageIcon originalIcon = new ImageIcon(GamePanel.class.getResource(path));
-                if (originalIcon.getIconWidth() > 0) {
-                    Image originalImage = originalIcon.getImage();
-                    Image resizedImage = originalImage.getScaledInstance(width, height, Image.SCALE_SMOOTH);
-                    EXPLOSION_FRAMES[i] = resizedImage;
-                }
-            } catch (Exception e) {
-                System.out.println("Failed to resize Explosion frame " + (i + 1) + ": " + e.getMessage());
-            }
-        }
+        explosionFrames = EXPLOSION_SOURCE.getScaled(width, height);
+        effects.setExplosionFrames(explosionFrames);
         repaint();
     }
     
     public void clearBackgroundImage() {
-        backgroundImage = null;
+        backgroundLayers.setBackgroundImage(null);
+        invalidateFrame();
         repaint();
     }
     
@@ -394,7 +279,6 @@ public class GamePanel extends JPanel {
         if (shouldCenterShooter && System.currentTimeMillis() >= shooterCenterTimeTarget) {
             targetMonster = null;
             shouldCenterShooter = false;
-            repaint();
         }
         
         if (isShootingAnimation) {
@@ -404,7 +288,7 @@ public class GamePanel extends JPanel {
                 frameCounter = 0;
                 currentLaserFrame++;
 
-                if (currentLaserFrame >= LASER_BEAM_FRAMES.length) {
+                if (currentLaserFrame >= laserBeamFrames.length) {
                     if (attackFrame > 0) {
                         currentLaserFrame = 0;
                     } else {
@@ -427,10 +311,6 @@ public class GamePanel extends JPanel {
             }
         }
         
-        if (shakeFrame > 0) {
-            shakeFrame--;
-        }
-        
         if (attackFrame == 0 && !isShootingAnimation && !shouldCenterShooter) {
             Monster newTarget = findTargetMonster();
             if (newTarget != null && newTarget != targetMonster) {
@@ -439,19 +319,8 @@ public class GamePanel extends JPanel {
             }
         }
         
-        // Update explosion animations and remove completed ones
-        Iterator<HashMap.Entry<Monster, ExplosionAnimation>> it = explosions.entrySet().iterator();
-        while (it.hasNext()) {
-            HashMap.Entry<Monster, ExplosionAnimation> entry = it.next();
-            ExplosionAnimation explosion = entry.getValue();
-            explosion.update();
-            
-            if (explosion.isFinished()) {
-                it.remove();
-            }
-        }
-        
-        repaint();
+        // Free the slots of finished effects
+        effects.update(GameClock.ticks());
     }
     
     private void handleMonsterHit(Monster monster) {
@@ -461,10 +330,13 @@ public class GamePanel extends JPanel {
         boolean canSplit = monster.canSplit();
 
         monster.hit();
-        shakeFrame = SHAKE_DURATION;
+        spawnHitEffects(monster);
+        String hitWord = monster.getWord();
         monster.decreaseHealth();
 
         if (monster.getHealth() <= 0) {
+            LetterWeakness.recordHit(hitWord);
+
             if (canSplit) {
                 Monster[] children = monster.split();
                 for (Monster child : children) {
@@ -485,12 +357,12 @@ public class GamePanel extends JPanel {
             gameController.increaseScore();
             
             // Store monster position for explosion before removing it
-            int monsterX = monster.getX(getWidth());
-            int monsterY = monster.getY(getHeight());
+            int monsterX = monster.getX(getRenderWidth());
+            int monsterY = monster.getY(getRenderHeight());
             int monsterSize = monster.getSize();
             
             // Add explosion animation and immediately remove monster
-            addExplosionAnimation(monster, monsterX, monsterY, monsterSize);
+            effects.spawnExplosion(monsterX, monsterY, monsterSize);
             gameController.removeMonster(monster);
             
             // Clear the input field
@@ -498,9 +370,21 @@ public class GamePanel extends JPanel {
         }
     }
     
-    private void addExplosionAnimation(Monster monster, int x, int y, int size) {
-        ExplosionAnimation explosion = new ExplosionAnimation(x, y, size);
-        explosions.put(monster, explosion);
+    /**
+     * Shows an explosion where the monster currently is, e.g. for monsters removed by a power-up
+     */
+    public void addExplosion(Monster monster) {
+        effects.spawnExplosion(monster.getX(getRenderWidth()), monster.getY(getRenderHeight()), monster.getSize());
+    }
+    
+    private void spawnHitEffects(Monster monster) {
+        int x = monster.getX(getRenderWidth());
+        int y = monster.getY(getRenderHeight());
+        int size = monster.getSize();
+
+        effects.spawnShake(monster);
+        effects.spawnHitFlash(x, y, size);
+        effects.spawnLaserTrail(shooterCenterX, shooterCenterY, x + size / 2, y + size / 2);
     }
     
     private Monster findTargetMonster() {
@@ -533,184 +417,448 @@ public class GamePanel extends JPanel {
         playGunSound();
     }
     
-    @Override
-    protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
-        Graphics2D g2d = (Graphics2D) g;
+    /**
+     * Advances animations, renders the scene into the back buffer and presents it.
+     * Called once per frame by the game loop on the EDT.
+     */
+    public void renderFrame() {
+        updateAnimations();
+        gameController.getHud().update(GameClock.ticks());
 
-        int width = getWidth();
-        int height = getHeight();
+        int width = getRenderWidth();
+        int height = getRenderHeight();
+        if (width <= 0 || height <= 0 || !isShowing()) {
+            return;
+        }
+
+        if (RenderQuality.getTier() != renderedQualityTier) {
+            renderedQualityTier = RenderQuality.getTier();
+            invalidateFrame();
+        }
 
-        // Draw the background image stretched to fit the panel
-        if (backgroundImage != null) {
-            g2d.drawImage(backgroundImage, 0, 0, width, height, this);
+        renderBackBuffer(width, height);
+
+        // Present synchronously, exactly once per frame
+        if (dirtyRegion.isFull()) {
+            paintImmediately(0, 0, getWidth(), getHeight());
         } else {
-            // Fallback to black background
-            g2d.setColor(Color.BLACK);
-            g2d.fillRect(0, 0, width, height);
+            presentDirtyRegions(width, height);
         }
+    }
 
-        // Draw shooter with responsive size and x-offset
-        if (SHOOTER_IMAGE != null) {
-            int shooterSize = Math.min(width, height) / 15; // Shooter size is 1/15th of the smaller dimension
-            int shooterX = (int) (width * 0.042); // Shooter x-offset is 4% of the panel width
-            int shooterY = (height - shooterSize) / 2; // Centered vertically
-
-            double angle = 0;
-            int targetX = 0;
-            int targetY = 0;
-            int shooterCenterX = shooterX + shooterSize / 2;
-            int shooterCenterY = shooterY + shooterSize / 2;
-            
-            if (targetMonster != null) {
-                targetX = targetMonster.getX(width) + targetMonster.getSize() / 2;
-                targetY = targetMonster.getY(height) + targetMonster.getSize() / 2;
-                
-                angle = Math.atan2(targetY - shooterCenterY, targetX - shooterCenterX);
-            }
+    /**
+     * Copies only the dirty parts of the back buffer to the screen, scaled
+     * to window coordinates when rendering at an internal resolution
+     */
+    private void presentDirtyRegions(int width, int height) {
+        double scaleX = getWidth() / (double) width;
+        double scaleY = getHeight() / (double) height;
+        for (int i = 0; i < dirtyRegion.size(); i++) {
+            Rectangle r = dirtyRegion.get(i);
+            // One extra pixel around each side for filtering when scaled
+            int left = (int) Math.floor(r.x * scaleX) - 1;
+            int top = (int) Math.floor(r.y * scaleY) - 1;
+            int right = (int) Math.ceil((r.x + r.width) * scaleX) + 1;
+            int bottom = (int) Math.ceil((r.y + r.height) * scaleY) + 1;
+            paintImmediately(left, top, right - left, bottom - top);
+        }
+    }
 
-            AffineTransform oldTransform = g2d.getTransform();
-            g2d.translate(shooterCenterX, shooterCenterY);
-            g2d.rotate(angle);
-            
-            // Draw the shooter
-            g2d.drawImage(SHOOTER_IMAGE, -shooterSize / 2, -shooterSize / 2, shooterSize, shooterSize, null);
-            if (isShootingAnimation && currentLaserFrame < LASER_BEAM_FRAMES.length && LASER_BEAM_FRAMES[currentLaserFrame] != null) {
-                Image currentLaserImage = LASER_BEAM_FRAMES[currentLaserFrame];
+    /**
+     * Forces the next frame to be redrawn in full, e.g. after the background changed
+     */
+    public void invalidateFrame() {
+        fullRedrawNeeded = true;
+    }
 
-                // Position the laser beam beside the shooter
-                int laserX = shooterSize / 3; // Right side of the shooter
-                int laserY = -currentLaserImage.getHeight(this) / 2; // Center vertically
+    /**
+     * Works out what to redraw this frame: whatever this frame's elements
+     * cover plus whatever last frame's covered, so moved things are erased.
+     * Falls back to a full redraw when that is most of the frame anyway.
+     */
+    private void updateDirtyRegion(int width, int height) {
+        DirtyRegion swap = previousBounds;
+        previousBounds = currentBounds;
+        currentBounds = swap;
+        currentBounds.reset(width, height);
+        dirtyRegion.reset(width, height);
+
+        // The HUD only needs redrawing where it changed, not every frame
+        gameController.getHud().addChangedBounds(dirtyRegion, width, height);
+
+        if (!Constants.dirtyRectRendering) {
+            dirtyRegion.markAll();
+            return;
+        }
+
+        collectBounds(currentBounds, width, height);
+        if (fullRedrawNeeded) {
+            fullRedrawNeeded = false;
+            dirtyRegion.markAll();
+            return;
+        }
+
+        dirtyRegion.addAll(previousBounds);
+        dirtyRegion.addAll(currentBounds);
+        dirtyRegion.coalesce(Constants.DIRTY_MAX_RECTS);
+        if (dirtyRegion.getArea() > Constants.DIRTY_FULL_REDRAW_COVERAGE * width * height) {
+            dirtyRegion.markAll();
+        }
+    }
 
-                g2d.drawImage(currentLaserImage, laserX, laserY, this);
+    /**
+     * Adds the area of everything that changes from frame to frame: the
+     * shooter and its laser, every monster with its label and health bar, and effects
+     */
+    private void collectBounds(DirtyRegion region, int width, int height) {
+        if (SHOOTER_SPRITE != null) {
+            RotationCache.getBounds(shooterSize, shooterSize, -shooterSize / 2, -shooterSize / 2,
+                shooterCenterX, shooterCenterY, shooterAngle, scratchBounds);
+            region.add(scratchBounds);
+
+            BufferedImage currentLaserImage = getCurrentLaserImage();
+            if (currentLaserImage != null) {
+                RotationCache.getBounds(currentLaserImage.getWidth(), currentLaserImage.getHeight(),
+                    shooterSize / 3, -currentLaserImage.getHeight() / 2,
+                    shooterCenterX, shooterCenterY, shooterAngle, scratchBounds);
+                region.add(scratchBounds);
             }
+        }
 
-            g2d.setTransform(oldTransform);
+        // Monsters outside the view need no redraw; where they were is in the previous bounds
+        for (int i = 0; i < visibleMonsters.size(); i++) {
+            visibleMonsters.get(i).getBounds(width, height, scratchBounds);
+            if (visibleShakes[i] != 0) {
+                scratchBounds.grow(EffectPool.getMaxShakeOffset(), 0);
+            }
+            region.add(scratchBounds);
         }
 
-        // Draw monsters - we draw normal monsters first, then monsters with explosions on top
-        ArrayList<Monster> monsters = gameController.getMonsters();
+        effects.addBounds(region, GameClock.ticks());
+    }
 
-        // First draw monsters that don't have explosions
-        for (Monster monster : monsters) {
-            if (!explosions.containsKey(monster)) {
-                AffineTransform monsterTransform = g2d.getTransform();
+    /**
+     * Width the scene is rendered at: the fixed internal resolution if one is set, otherwise the panel width
+     */
+    private int getRenderWidth() {
+        if (Constants.internalRenderWidth > 0 && Constants.internalRenderHeight > 0) {
+            return Constants.internalRenderWidth;
+        }
+        if (Constants.internalRenderScale > 0) {
+            return (int) Math.round(getWidth() * Constants.internalRenderScale);
+        }
+        return getWidth();
+    }
+
+    private int getRenderHeight() {
+        if (Constants.internalRenderWidth > 0 && Constants.internalRenderHeight > 0) {
+            return Constants.internalRenderHeight;
+        }
+        if (Constants.internalRenderScale > 0) {
+            return (int) Math.round(getHeight() * Constants.internalRenderScale);
+        }
+        return getHeight();
+    }
+
+    /**
+     * Renders the scene into the back buffer, recreating it if the size or
+     * screen changed and repeating if the accelerated contents were lost
+     */
+    private void renderBackBuffer(int width, int height) {
+        if (getGraphicsConfiguration() == null) {
+            return; // Not displayable yet
+        }
+        // Once per frame, however many regions are redrawn below
+        prepareScene(width, height);
+        updateDirtyRegion(width, height);
+
+        do {
+            if (backBuffer == null || backBuffer.getWidth() != width || backBuffer.getHeight() != height) {
+                createBackBuffer(width, height);
+                dirtyRegion.markAll();
+            } else {
+                int status = backBuffer.validate(getGraphicsConfiguration());
+                if (status == VolatileImage.IMAGE_INCOMPATIBLE) {
+                    createBackBuffer(width, height);
+                    dirtyRegion.markAll();
+                } else if (status == VolatileImage.IMAGE_RESTORED) {
+                    dirtyRegion.markAll();
+                }
+            }
 
-                if (monster == targetMonster && shakeFrame > 0) {
-                    double shakeProgress = (double) shakeFrame / SHAKE_DURATION;
-                    int shakeOffset = (int) (10 * Math.sin(shakeProgress * Math.PI * 4));
-                    g2d.translate(shakeOffset, 0);
+            Graphics2D g2d = backBuffer.createGraphics();
+            try {
+                if (dirtyRegion.isFull()) {
+                    drawScene(g2d, width, height, null);
+                } else {
+                    // Everything outside the clip is rejected cheaply by the pipeline
+                    for (int i = 0; i < dirtyRegion.size(); i++) {
+                        Rectangle clip = dirtyRegion.get(i);
+                        g2d.setClip(clip);
+                        drawScene(g2d, width, height, clip);
+                    }
                 }
+            } finally {
+                g2d.dispose();
+            }
 
-                monster.draw(g, width, height);
-                g2d.setTransform(monsterTransform);
+            if (backBuffer.contentsLost()) {
+                dirtyRegion.markAll();
             }
+        } while (backBuffer.contentsLost());
+    }
+
+    private void createBackBuffer(int width, int height) {
+        if (backBuffer != null) {
+            backBuffer.flush();
         }
+        backBuffer = createVolatileImage(width, height);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
 
-        // Draw explosions (monsters are already removed)
-        for (ExplosionAnimation explosion : explosions.values()) {
-            explosion.draw(g2d, width, height);
+        int width = getRenderWidth();
+        int height = getRenderHeight();
+        if (width <= 0 || height <= 0) {
+            return;
         }
 
-        // Draw clouds above the monsters
-        if (cloudsImage != null) {
-            int cloudsWidth = width;
-            int cloudsHeight = height;
-            int cloudsX = width - cloudsWidth;
-            int cloudsY = 0;
+        // Render on demand when nothing is buffered yet (first show, resize while paused)
+        if (backBuffer == null || backBuffer.getWidth() != width || backBuffer.getHeight() != height
+                || backBuffer.contentsLost()) {
+            fullRedrawNeeded = true;
+            renderBackBuffer(width, height);
+        }
+        if (backBuffer == null) {
+            return;
+        }
 
-            g2d.drawImage(cloudsImage, cloudsX, cloudsY, cloudsWidth, cloudsHeight, this);
+        if (width == getWidth() && height == getHeight()) {
+            g.drawImage(backBuffer, 0, 0, null);
+        } else {
+            // Internal resolution: one scaled blit to the window
+            Graphics2D g2d = (Graphics2D) g;
+            boolean nearest = Constants.pixelatedUpscale || !RenderQuality.useSmoothScaling();
+            g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, nearest
+                ? RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR
+                : RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g2d.drawImage(backBuffer, 0, 0, getWidth(), getHeight(), null);
         }
     }
-    
-    public void attackMonster(Monster monster) {
-        if (monster != null && monster != targetMonster) {
-            targetMonster = monster;
-            shootAtMonster(monster);
+
+    /**
+     * Works out where the shooter is drawn this frame and which way it faces
+     */
+    private void updateShooterPose(int width, int height) {
+        shooterSize = Math.min(width, height) / 15; // Shooter size is 1/15th of the smaller dimension
+        int shooterX = (int) (width * 0.042); // Shooter x-offset is 4% of the panel width
+        int shooterY = (height - shooterSize) / 2; // Centered vertically
+
+        shooterCenterX = shooterX + shooterSize / 2;
+        shooterCenterY = shooterY + shooterSize / 2;
+        shooterAngle = 0;
+
+        if (targetMonster != null) {
+            int targetX = targetMonster.getX(width) + targetMonster.getSize() / 2;
+            int targetY = targetMonster.getY(height) + targetMonster.getSize() / 2;
+
+            shooterAngle = Math.atan2(targetY - shooterCenterY, targetX - shooterCenterX);
         }
     }
-    
-    public void cleanup() {
-        // Stop the background music
-        stopBackgroundMusic();
-        
-        // Close the background music clip
-        if (backgroundMusicClip != null) {
-            backgroundMusicClip.close();
+
+    // The laser frame showing this frame, or null when not shooting
+    private BufferedImage getCurrentLaserImage() {
+        if (isShootingAnimation && currentLaserFrame < laserBeamFrames.length) {
+            return laserBeamFrames[currentLaserFrame];
         }
-        
-        for (Clip clip : gunSoundClips) {
-            if (clip != null) {
-                clip.close();
-            }
+        return null;
+    }
+
+    /**
+     * Draws the whole game scene at the given size.
+     * Package-private so RenderBenchmark can render into an off-screen image.
+     */
+    void renderScene(Graphics2D g2d, int width, int height) {
+        prepareScene(width, height);
+        drawScene(g2d, width, height, null);
+    }
+
+    /**
+     * Works out what this frame draws: the shooter's pose and the visible
+     * monsters with their detail and shake offsets
+     */
+    private void prepareScene(int width, int height) {
+        if (frameTimings != null) {
+            frameTimings.beginFrame();
         }
-        gunSoundClips.clear();
+        if (SHOOTER_SPRITE != null) {
+            updateShooterPose(width, height);
+        }
+        SpriteCache.setPanelScale(Math.min(width / (double) Constants.WIDTH, height / (double) Constants.HEIGHT));
+        prepareMonsters(width, height);
+        endPhase(FrameTimings.PREPARE);
+    }
 
-        for (Clip clip : clickSoundClips) {
-            if (clip != null) {
-                clip.close();
+    /**
+     * Draws what prepareScene chose
+     * @param clip The dirty rectangle g2d is clipped to, or null for a full redraw
+     */
+    private void drawScene(Graphics2D g2d, int width, int height, Rectangle clip) {
+        g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderQuality.antialiasText()
+            ? RenderingHints.VALUE_TEXT_ANTIALIAS_ON
+            : RenderingHints.VALUE_TEXT_ANTIALIAS_OFF);
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderQuality.useSmoothScaling()
+            ? RenderingHints.VALUE_INTERPOLATION_BILINEAR
+            : RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+
+        // Draw the pre-rendered background (black if there is no image)
+        backgroundLayers.drawBackground(g2d, width, height);
+        endPhase(FrameTimings.BACKGROUND);
+
+        // Draw shooter with responsive size and x-offset
+        if (SHOOTER_SPRITE != null) {
+            // Draw the shooter, pre-scaled and pre-rotated to the nearest angle bucket
+            int shooterFrame = RenderQuality.animateSprites() ? SHOOTER_SPRITE.frameAt(GameClock.millis()) : 0;
+            BufferedImage shooterImage = SpriteCache.get(SHOOTER_SPRITE, shooterFrame, shooterSize, false);
+            rotationCache.draw(g2d, shooterImage, -shooterSize / 2, -shooterSize / 2,
+                shooterCenterX, shooterCenterY, shooterAngle);
+
+            BufferedImage currentLaserImage = getCurrentLaserImage();
+            if (currentLaserImage != null) {
+                // Position the laser beam beside the shooter
+                int laserX = shooterSize / 3; // Right side of the shooter
+                int laserY = -currentLaserImage.getHeight() / 2; // Center vertically
+
+                rotationCache.draw(g2d, currentLaserImage, laserX, laserY,
+                    shooterCenterX, shooterCenterY, shooterAngle);
             }
         }
-        clickSoundClips.clear();
-        
-        // Add cleanup for hurt sound clips
-        for (Clip clip : hurtSoundClips) {
-            if (clip != null) {
-                clip.close();
-            }
+        endPhase(FrameTimings.SHOOTER);
+
+        // Draw monsters, then effects on top (killed monsters are already removed)
+        if (layerRenderer != null && clip == null) {
+            // Labels and effects rasterized on workers while the bodies are drawn here
+            layerAreas[1].setBounds(visibleMonsterArea);
+            effectBounds.reset(width, height);
+            effects.addBounds(effectBounds, GameClock.ticks());
+            effectBounds.getBounds(layerAreas[2]);
+            layerRenderer.render(g2d, width, height, layerAreas);
+            endPhase(FrameTimings.LAYERS);
+            drawOverlay(g2d, width, height);
+            endPhase(FrameTimings.OVERLAY);
+            return;
         }
-        hurtSoundClips.clear();
+
+        drawMonsters(g2d, width, height, Monster.DETAIL_FULL, clip);
+        endPhase(FrameTimings.MONSTERS);
+        effects.draw(g2d, GameClock.ticks());
+        endPhase(FrameTimings.EFFECTS);
+        drawOverlay(g2d, width, height);
+        endPhase(FrameTimings.OVERLAY);
     }
-    
+
+    private void endPhase(int phase) {
+        if (frameTimings != null) {
+            frameTimings.endPhase(phase);
+        }
+    }
+
     /**
-     * Inner class to handle the frame-by-frame explosion animation
+     * Records how long each phase of renderScene takes into timings, or stops recording if null
      */
-    private class ExplosionAnimation {
-        private int positionX; // Fixed X position for the explosion
-        private int positionY; // Fixed Y position for the explosion
-        private int size;      // Size reference for centering
-        private int currentFrame = 0;
-        private int frameCounter = 0;
-        
-        public ExplosionAnimation(int x, int y, int size) {
-            this.positionX = x;
-            this.positionY = y;
-            this.size = size;
+    void setFrameTimings(FrameTimings timings) {
+        frameTimings = timings;
+    }
+
+    /**
+     * Picks the monsters to draw this frame and how much of each to draw.
+     * Skips monsters outside the view.
+     */
+    private void prepareMonsters(int width, int height) {
+        viewBounds.setBounds(0, 0, width, height);
+        long now = GameClock.ticks();
+
+        // Crowded screens drop labels, health bars and animation from the farthest monsters
+        ArrayList<Monster> monsters = gameController.getMonsters();
+        monsterLod.update(monsters);
+
+        visibleMonsters.clear();
+        visibleMonsterArea.setBounds(0, 0, 0, 0);
+        if (visibleDetails.length < monsters.size()) {
+            visibleDetails = new int[Math.max(monsters.size(), visibleDetails.length * 2)];
+            visibleShakes = new int[visibleDetails.length];
         }
-        
-        public void update() {
-            frameCounter++;
-            
-            if (frameCounter >= explosionAnimationSpeed) {
-                frameCounter = 0;
-                currentFrame++;
+        for (Monster monster : monsters) {
+            monster.getBounds(width, height, scratchBounds);
+            scratchBounds.grow(EffectPool.getMaxShakeOffset(), 0);
+            if (!viewBounds.intersects(scratchBounds)) {
+                continue;
             }
+            int index = visibleMonsters.size();
+            if (index == 0) {
+                visibleMonsterArea.setBounds(scratchBounds);
+            } else {
+                visibleMonsterArea.add(scratchBounds);
+            }
+            visibleMonsters.add(monster);
+            visibleDetails[index] = monsterLod.detailFor(monster);
+            visibleShakes[index] = effects.getShakeOffset(monster, now);
         }
-        
-        public boolean isFinished() {
-            return currentFrame >= EXPLOSION_FRAMES.length;
-        }
-        
-        public void draw(Graphics2D g, int panelWidth, int panelHeight) {
-            if (currentFrame < EXPLOSION_FRAMES.length && EXPLOSION_FRAMES[currentFrame] != null) {
-                // Get the explosion frame dimensions
-                Image currentExplosionImage = EXPLOSION_FRAMES[currentFrame];
-                int explosionWidth = currentExplosionImage.getWidth(null);
-                int explosionHeight = currentExplosionImage.getHeight(null);
-                
-                if (explosionWidth <= 0 || explosionHeight <= 0) {
-                    // Use estimated size if actual dimensions are not available
-                    explosionWidth = 120;
-                    explosionHeight = 120;
+    }
+
+    /**
+     * Draws the monsters chosen by prepareMonsters, only the parts in detailMask.
+     * Without a clip it reads nothing but the prepared lists, so separate
+     * passes may run on separate threads.
+     * @param clip During a partial redraw, the dirty rectangle; monsters outside it are skipped
+     */
+    private void drawMonsters(Graphics2D g2d, int width, int height, int detailMask, Rectangle clip) {
+        for (int i = 0; i < visibleMonsters.size(); i++) {
+            if (clip != null) {
+                visibleMonsters.get(i).getBounds(width, height, clipBounds);
+                clipBounds.grow(EffectPool.getMaxShakeOffset(), 0);
+                if (!clip.intersects(clipBounds)) {
+                    continue;
                 }
-                
-                // Calculate position to center the explosion
-                int drawX = positionX + (size - explosionWidth) / 2;
-                int drawY = positionY + (size - explosionHeight) / 2;
-                
-                // Draw the explosion frame
-                g.drawImage(currentExplosionImage, drawX, drawY, null);
             }
+            int shakeOffset = visibleShakes[i];
+            if (shakeOffset != 0) {
+                g2d.translate(shakeOffset, 0);
+            }
+            visibleMonsters.get(i).draw(g2d, width, height, visibleDetails[i] & detailMask);
+            if (shakeOffset != 0) {
+                g2d.translate(-shakeOffset, 0);
+            }
+        }
+    }
+
+    // Clouds and HUD, above everything else
+    private void drawOverlay(Graphics2D g2d, int width, int height) {
+        // Draw clouds above the monsters, only the tiles that have visible pixels
+        if (RenderQuality.showClouds()) {
+            backgroundLayers.drawClouds(g2d, width, height);
+        }
+
+        // Score, lives, notifications and the typed line go on top of everything
+        gameController.getHud().draw(g2d, width, height);
+    }
+    
+    public void attackMonster(Monster monster) {
+        if (monster != null && monster != targetMonster) {
+            targetMonster = monster;
+            shootAtMonster(monster);
+        }
+    }
+    
+    public void cleanup() {
+        // Stop the background music
+        stopBackgroundMusic();
+        
+        if (layerRenderer != null) {
+            layerRenderer.shutdown();
+            layerRenderer = null;
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,297 @@
+import java.awt.AlphaComposite;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.Stroke;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+
+/**
+ * Score, lives, streak, notifications and the typed input line, drawn into
+ * the game frame instead of living in Swing components.
+ * Game code only updates the state here; text is prebuilt when a value
+ * changes and drawn through LabelCache, so a frame allocates nothing and
+ * nothing is ever revalidated. Timed parts (flashes, notifications, the
+ * caret) are timed in GameClock ticks and stop while the game is paused.
+ */
+public class Hud {
+    private static final Font STATS_FONT = new Font("Arial", Font.BOLD, 16);
+    private static final Font STREAK_FONT = new Font("Arial", Font.BOLD, 14);
+    private static final Font NOTIFICATION_FONT = new Font("Arial", Font.BOLD, 16);
+    private static final Font NOTICE_FONT = new Font("Arial", Font.BOLD, 21);
+    private static final Font INPUT_FONT = new Font("Consolas", Font.BOLD, 16);
+
+    private static final Color SCORE_COLOR = new Color(255, 255, 100);
+    private static final Color LIVES_COLOR = new Color(100, 255, 100);
+    private static final Color INPUT_BACKGROUND = new Color(50, 50, 80, 80);
+    private static final Color INPUT_BORDER = new Color(100, 100, 255, 100);
+    private static final Color JAMMED_BORDER = new Color(255, 0, 0, 200);
+    private static final Color SCRAMBLED_BORDER = new Color(0, 0, 255, 200);
+    private static final Color JAMMED_INDICATOR = new Color(255, 0, 0);
+    private static final Color SCRAMBLED_INDICATOR = new Color(0, 0, 255);
+    private static final Stroke INPUT_STROKE = new BasicStroke(2);
+
+    private static final int NOTIFICATION_TICKS = Constants.TARGET_FPS * 2;
+    private static final int LIVES_FLASH_TICKS = Constants.TARGET_FPS / 2;
+    private static final int CARET_BLINK_TICKS = Constants.TARGET_FPS / 2;
+
+    private static final int MARGIN = 15;
+    private static final int TOP_ROW_Y = 10;
+    private static final int TOP_ROW_HEIGHT = 30;
+    private static final int INPUT_HEIGHT = 50;
+    private static final int INPUT_BOTTOM_PADDING = 30;
+    private static final int INPUT_TEXT_INSET = 12;
+    private static final int NOTIFICATION_GAP = 8;
+
+    private String scoreText = "";
+    private int scoreTextWidth = 0;
+    private String livesText = "";
+    private Color livesFlashColor = LIVES_COLOR;
+    private long livesFlashEnd = 0;
+
+    private String streakText = "";
+    private Color streakColor = Color.YELLOW;
+
+    private String notificationText = "";
+    private Color notificationColor = Color.WHITE;
+    private long notificationEnd = 0;
+
+    private String noticeText = "";
+    private Color noticeColor = Color.WHITE;
+    private long noticeEnd = 0;
+
+    private String inputText = "";
+    private int inputTextWidth = 0;
+    // Where the input field's caret is, as a width of the text before it
+    private int inputCaretX = 0;
+    private boolean keyboardJammed = false;
+    private boolean inputScrambled = false;
+
+    // What timed parts show this frame, worked out once per frame by update
+    private boolean livesFlashing = false;
+    private boolean notificationVisible = false;
+    private boolean noticeVisible = false;
+    private boolean caretVisible = true;
+
+    // Pre-rendered input box and what it was rendered for
+    private BufferedImage inputBox;
+    private int inputBoxState = -1;
+    private boolean inputBoxAntialias = true;
+
+    // Set whenever something drawn changes, cleared once the change is marked dirty
+    private boolean changed = true;
+
+    public void setScore(int score) {
+        scoreText = "Score: " + score;
+        scoreTextWidth = LabelCache.stringWidth(scoreText, STATS_FONT);
+        changed = true;
+    }
+
+    public void setLives(int lives) {
+        livesText = "Lives: " + lives;
+        changed = true;
+    }
+
+    /**
+     * Shows the lives counter in the given color for half a second
+     */
+    public void flashLives(Color color) {
+        livesFlashColor = color;
+        livesFlashEnd = GameClock.ticks() + LIVES_FLASH_TICKS;
+        changed = true;
+    }
+
+    public void setStreak(String text, Color color) {
+        streakText = text;
+        streakColor = color;
+        changed = true;
+    }
+
+    public void setStreakColor(Color color) {
+        streakColor = color;
+        changed = true;
+    }
+
+    /**
+     * Shows a power-up message above the input line for two seconds; an empty message hides it
+     */
+    public void showNotification(String text, Color color) {
+        notificationText = text;
+        notificationColor = color;
+        notificationEnd = text.isEmpty() ? 0 : GameClock.ticks() + NOTIFICATION_TICKS;
+        changed = true;
+    }
+
+    /**
+     * Shows a message a third of the way down the screen for two seconds
+     */
+    public void showNotice(String text, Color color) {
+        noticeText = text;
+        noticeColor = color;
+        noticeEnd = GameClock.ticks() + NOTIFICATION_TICKS;
+        changed = true;
+    }
+
+    public void setInputText(String text) {
+        inputText = text;
+        inputTextWidth = LabelCache.stringWidth(text, INPUT_FONT);
+        inputCaretX = inputTextWidth;
+        changed = true;
+    }
+
+    /**
+     * Moves the drawn caret to the input field's caret, e.g. after arrow keys or Home
+     * @param position Caret offset in the input text
+     */
+    public void setInputCaret(int position) {
+        int clamped = Math.max(0, Math.min(position, inputText.length()));
+        inputCaretX = LabelCache.stringWidth(inputText.substring(0, clamped), INPUT_FONT);
+        changed = true;
+    }
+
+    public void setInputState(boolean jammed, boolean scrambled) {
+        keyboardJammed = jammed;
+        inputScrambled = scrambled;
+        changed = true;
+    }
+
+    /**
+     * Hides everything timed, e.g. when a new game starts
+     */
+    public void clearTimed() {
+        livesFlashEnd = 0;
+        notificationEnd = 0;
+        noticeEnd = 0;
+        changed = true;
+    }
+
+    /**
+     * Works out which timed parts are showing at this tick; called once per frame
+     */
+    public void update(long now) {
+        boolean flashing = now < livesFlashEnd;
+        boolean notification = now < notificationEnd;
+        boolean notice = now < noticeEnd;
+        boolean caret = !keyboardJammed && (now / CARET_BLINK_TICKS) % 2 == 0;
+
+        if (flashing != livesFlashing || notification != notificationVisible
+                || notice != noticeVisible || caret != caretVisible) {
+            livesFlashing = flashing;
+            notificationVisible = notification;
+            noticeVisible = notice;
+            caretVisible = caret;
+            changed = true;
+        }
+    }
+
+    /**
+     * Adds the HUD areas to the region if anything in them changed since the last call
+     */
+    public void addChangedBounds(DirtyRegion region, int width, int height) {
+        if (!changed) {
+            return;
+        }
+        changed = false;
+
+        region.add(0, 0, width, TOP_ROW_Y + TOP_ROW_HEIGHT);
+        region.add(0, getNoticeY(height), width, TOP_ROW_HEIGHT + NOTIFICATION_GAP);
+        int notificationY = getInputY(height) - NOTIFICATION_GAP - LabelCache.getHeight(NOTIFICATION_FONT);
+        region.add(0, notificationY, width, height - notificationY);
+    }
+
+    public void draw(Graphics2D g, int width, int height) {
+        LabelCache.draw(g, scoreText, STATS_FONT, SCORE_COLOR, MARGIN, TOP_ROW_Y);
+        LabelCache.draw(g, livesText, STATS_FONT, livesFlashing ? livesFlashColor : LIVES_COLOR,
+            MARGIN + scoreTextWidth + 20, TOP_ROW_Y);
+        LabelCache.drawCentered(g, streakText, STREAK_FONT, streakColor, width / 2, TOP_ROW_Y);
+
+        if (noticeVisible) {
+            LabelCache.drawCentered(g, noticeText, NOTICE_FONT, noticeColor, width / 2, getNoticeY(height));
+        }
+
+        int inputY = getInputY(height);
+        if (notificationVisible) {
+            int notificationY = inputY - NOTIFICATION_GAP - LabelCache.getHeight(NOTIFICATION_FONT);
+            LabelCache.drawCentered(g, notificationText, NOTIFICATION_FONT, notificationColor, width / 2, notificationY);
+        }
+
+        drawInputLine(g, width, inputY);
+    }
+
+    private void drawInputLine(Graphics2D g, int width, int inputY) {
+        int inputWidth = Math.max(200, Math.min(400, width / 2));
+        int inputX = (width - inputWidth) / 2;
+
+        g.drawImage(getInputBox(inputWidth), inputX, inputY, null);
+
+        int textHeight = LabelCache.getHeight(INPUT_FONT);
+        int textX = inputX + INPUT_TEXT_INSET;
+        int textY = inputY + (INPUT_HEIGHT - textHeight) / 2;
+        if (!inputText.isEmpty()) {
+            LabelCache.draw(g, inputText, INPUT_FONT, Color.WHITE, textX, textY);
+        }
+        if (caretVisible) {
+            g.setColor(Color.WHITE);
+            g.fillRect(textX + inputCaretX + 1, textY, 2, textHeight);
+        }
+    }
+
+    /**
+     * The input box background and border, rendered again only when its
+     * width, state or antialiasing changes
+     */
+    private BufferedImage getInputBox(int inputWidth) {
+        int state = (keyboardJammed ? 1 : 0) | (inputScrambled ? 2 : 0);
+        boolean antialias = RenderQuality.antialiasText();
+        if (inputBox != null && inputBox.getWidth() == inputWidth
+                && inputBoxState == state && inputBoxAntialias == antialias) {
+            return inputBox;
+        }
+
+        if (inputBox != null) {
+            inputBox.flush();
+        }
+        inputBox = ImageUtils.createCompatibleImage(inputWidth, INPUT_HEIGHT, Transparency.TRANSLUCENT);
+        inputBoxState = state;
+        inputBoxAntialias = antialias;
+
+        Graphics2D g = inputBox.createGraphics();
+        g.setComposite(AlphaComposite.Clear);
+        g.fillRect(0, 0, inputWidth, INPUT_HEIGHT);
+        g.setComposite(AlphaComposite.SrcOver);
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, antialias
+            ? RenderingHints.VALUE_ANTIALIAS_ON
+            : RenderingHints.VALUE_ANTIALIAS_OFF);
+
+        g.setColor(INPUT_BACKGROUND);
+        g.fillRoundRect(0, 0, inputWidth, INPUT_HEIGHT, 10, 10);
+
+        // Border color shows which monster power is affecting the input
+        if (keyboardJammed) {
+            g.setColor(JAMMED_BORDER);
+        } else if (inputScrambled) {
+            g.setColor(SCRAMBLED_BORDER);
+        } else {
+            g.setColor(INPUT_BORDER);
+        }
+        g.setStroke(INPUT_STROKE);
+        g.drawRoundRect(0, 0, inputWidth - 1, INPUT_HEIGHT - 1, 10, 10);
+
+        if (keyboardJammed || inputScrambled) {
+            g.setColor(inputScrambled ? SCRAMBLED_INDICATOR : JAMMED_INDICATOR);
+            g.fillOval(5, 5, 10, 10);
+        }
+        g.dispose();
+        return inputBox;
+    }
+
+    private static int getNoticeY(int height) {
+        return height / 3;
+    }
+
+    private static int getInputY(int height) {
+        return height - INPUT_BOTTOM_PADDING - INPUT_HEIGHT;
+    }
+}
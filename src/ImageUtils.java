@@ -0,0 +1,75 @@
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+
+/**
+ * Helpers for creating images that the screen can blit without conversion
+ */
+public class ImageUtils {
+    private ImageUtils() {
+    }
+
+    /**
+     * Creates an image in the screen's native pixel layout so the pipeline
+     * can cache it in video memory. Falls back to a plain BufferedImage when
+     * running headless.
+     * @param transparency One of Transparency.OPAQUE, BITMASK or TRANSLUCENT
+     */
+    public static BufferedImage createCompatibleImage(int width, int height, int transparency) {
+        width = Math.max(1, width);
+        height = Math.max(1, height);
+
+        if (!GraphicsEnvironment.isHeadless()) {
+            GraphicsConfiguration config = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                .getDefaultScreenDevice().getDefaultConfiguration();
+            return config.createCompatibleImage(width, height, transparency);
+        }
+
+        int type = (transparency == Transparency.OPAQUE) ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB_PRE;
+        return new BufferedImage(width, height, type);
+    }
+
+    /**
+     * Scales an image synchronously with good quality. Large reductions are
+     * done as a series of bilinear halvings, since a single bilinear step
+     * only samples 2x2 source pixels and skips detail when shrinking by more
+     * than half. The result is always a complete, compatible image.
+     */
+    public static BufferedImage scaleProgressive(BufferedImage source, int width, int height) {
+        width = Math.max(1, width);
+        height = Math.max(1, height);
+
+        BufferedImage current = source;
+        int currentWidth = source.getWidth();
+        int currentHeight = source.getHeight();
+
+        while (currentWidth / 2 >= width || currentHeight / 2 >= height) {
+            int nextWidth = Math.max(width, currentWidth / 2);
+            int nextHeight = Math.max(height, currentHeight / 2);
+            BufferedImage step = new BufferedImage(nextWidth, nextHeight, BufferedImage.TYPE_INT_ARGB_PRE);
+            drawScaled(current, step, nextWidth, nextHeight);
+            current = step;
+            currentWidth = nextWidth;
+            currentHeight = nextHeight;
+        }
+
+        // Filtered edges need real alpha even if the source only had a transparent palette entry
+        int transparency = (source.getTransparency() == Transparency.OPAQUE) ? Transparency.OPAQUE : Transparency.TRANSLUCENT;
+        BufferedImage result = createCompatibleImage(width, height, transparency);
+        drawScaled(current, result, width, height);
+        return result;
+    }
+
+    private static void drawScaled(BufferedImage source, BufferedImage target, int width, int height) {
+        Graphics2D g = target.createGraphics();
+        g.setComposite(AlphaComposite.Src);
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g.drawImage(source, 0, 0, width, height, null);
+        g.dispose();
+    }
+}
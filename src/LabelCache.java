@@ -0,0 +1,181 @@
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Text labels (monster words, HUD lines) rasterized once and then drawn as plain image blits.
+ * Entries are keyed by word, font, color and text antialiasing, kept in
+ * least-recently-used order and evicted once their pixels exceed the byte
+ * budget. Lookups reuse one probe key, so a cache hit allocates nothing.
+ */
+public class LabelCache {
+    // Roughly 4 MB of ARGB pixels, far more than the labels on screen at once
+    private static final long MAX_BYTES = 4L * 1024 * 1024;
+
+    // Spare pixels around the text so glyph overhangs are not clipped
+    private static final int PADDING = 1;
+
+    private static final LinkedHashMap<Key, Label> LABELS = new LinkedHashMap<>(64, 0.75f, true);
+    private static final Key PROBE = new Key();
+    private static long totalBytes = 0;
+
+    // Measuring surface for fonts that are not cached yet
+    private static final Graphics2D MEASURE =
+        new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB).createGraphics();
+
+    private LabelCache() {
+    }
+
+    /**
+     * Draws the word horizontally centered on centerX with the top of its
+     * text box at topY, i.e. the baseline sits one font ascent below topY.
+     */
+    public static void drawCentered(Graphics2D g, String word, Font font, Color color, int centerX, int topY) {
+        boolean antialias = g.getRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING)
+            == RenderingHints.VALUE_TEXT_ANTIALIAS_ON;
+        Label label = get(word, font, color, antialias);
+        g.drawImage(label.image, centerX - label.textWidth / 2 - PADDING, topY - PADDING, null);
+    }
+
+    /**
+     * Draws the text with the left edge of its text box at x and its top at topY
+     */
+    public static void draw(Graphics2D g, String text, Font font, Color color, int x, int topY) {
+        boolean antialias = g.getRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING)
+            == RenderingHints.VALUE_TEXT_ANTIALIAS_ON;
+        Label label = get(text, font, color, antialias);
+        g.drawImage(label.image, x - PADDING, topY - PADDING, null);
+    }
+
+    /**
+     * @return Advance width of the text in the font
+     */
+    public static synchronized int stringWidth(String text, Font font) {
+        return MEASURE.getFontMetrics(font).stringWidth(text);
+    }
+
+    /**
+     * @return Height of a text box in the font, ascent plus descent
+     */
+    public static synchronized int getHeight(Font font) {
+        FontMetrics fm = MEASURE.getFontMetrics(font);
+        return fm.getAscent() + fm.getDescent();
+    }
+
+    private static synchronized Label get(String word, Font font, Color color, boolean antialias) {
+        PROBE.set(word, font, color.getRGB(), antialias);
+        Label label = LABELS.get(PROBE);
+        if (label != null) {
+            return label;
+        }
+
+        label = render(word, font, color, antialias);
+        Key key = new Key();
+        key.set(word, font, color.getRGB(), antialias);
+        LABELS.put(key, label);
+        totalBytes += label.bytes;
+        evictOverBudget();
+        return label;
+    }
+
+    private static void evictOverBudget() {
+        Iterator<Map.Entry<Key, Label>> it = LABELS.entrySet().iterator();
+        // Always keep the newest entry, even if it alone is over budget
+        while (totalBytes > MAX_BYTES && LABELS.size() > 1 && it.hasNext()) {
+            Label eldest = it.next().getValue();
+            it.remove();
+            totalBytes -= eldest.bytes;
+            eldest.image.flush();
+        }
+    }
+
+    private static Label render(String word, Font font, Color color, boolean antialias) {
+        FontMetrics fm = MEASURE.getFontMetrics(font);
+        int textWidth = fm.stringWidth(word);
+        int ascent = fm.getAscent();
+        int width = textWidth + PADDING * 2;
+        int height = ascent + fm.getDescent() + PADDING * 2;
+
+        BufferedImage image = ImageUtils.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+        Graphics2D g = image.createGraphics();
+        g.setComposite(AlphaComposite.Clear);
+        g.fillRect(0, 0, width, height);
+        g.setComposite(AlphaComposite.SrcOver);
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, antialias
+            ? RenderingHints.VALUE_TEXT_ANTIALIAS_ON
+            : RenderingHints.VALUE_TEXT_ANTIALIAS_OFF);
+        g.setFont(font);
+        g.setColor(color);
+        g.drawString(word, PADDING, PADDING + ascent);
+        g.dispose();
+
+        return new Label(image, textWidth, (long) width * height * 4);
+    }
+
+    public static synchronized void clear() {
+        for (Label label : LABELS.values()) {
+            label.image.flush();
+        }
+        LABELS.clear();
+        totalBytes = 0;
+    }
+
+    private static class Label {
+        private final BufferedImage image;
+        private final int textWidth;
+        private final long bytes;
+
+        Label(BufferedImage image, int textWidth, long bytes) {
+            this.image = image;
+            this.textWidth = textWidth;
+            this.bytes = bytes;
+        }
+    }
+
+    /**
+     * Mutable so the same instance can be reused for lookups; a key is never
+     * changed after it has been put into the map.
+     */
+    private static class Key {
+        private String word;
+        private Font font;
+        private int rgb;
+        private boolean antialias;
+
+        void set(String word, Font font, int rgb, boolean antialias) {
+            this.word = word;
+            this.font = font;
+            this.rgb = rgb;
+            this.antialias = antialias;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return rgb == other.rgb
+                && antialias == other.antialias
+                && word.equals(other.word)
+                && font.equals(other.font);
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = word.hashCode();
+            hash = 31 * hash + font.getSize();
+            hash = 31 * hash + font.getStyle();
+            hash = 31 * hash + rgb;
+            return antialias ? hash + 1 : hash;
+        }
+    }
+}
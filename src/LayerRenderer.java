@@ -0,0 +1,156 @@
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Rasterizes independent scene layers in parallel, then composites them in
+ * order on the calling thread.
+ * The first layer is drawn straight onto the target by the calling thread
+ * while the workers draw the others, each into its own translucent image.
+ * Those images are only cleared and composited within the area their
+ * layer covers this frame, and a layer with nothing to draw is skipped.
+ * The caller blocks until every layer is done, so layers may read game
+ * state freely, but they must not change it or share scratch objects with
+ * each other.
+ * Only worth it with more than one processor; see isUseful().
+ */
+public class LayerRenderer {
+    /**
+     * One layer of the scene, drawn onto a transparent image clipped to its area
+     */
+    public interface Layer {
+        void draw(Graphics2D g, int width, int height);
+    }
+
+    private final Layer[] layers;
+    private final BufferedImage[] images;
+    private final Rectangle[] areas;
+    private final Rectangle frameBounds = new Rectangle();
+    private final Runnable[] tasks;
+    private final Future<?>[] pending;
+    private final ExecutorService workers;
+
+    // What the current frame is rendered with; published to the workers by submit
+    private int frameWidth;
+    private int frameHeight;
+    private RenderingHints frameHints;
+
+    public LayerRenderer(Layer... layers) {
+        this.layers = layers;
+        images = new BufferedImage[layers.length];
+        areas = new Rectangle[layers.length];
+        tasks = new Runnable[layers.length];
+        pending = new Future<?>[layers.length];
+        for (int i = 0; i < layers.length; i++) {
+            final int index = i;
+            areas[i] = new Rectangle();
+            tasks[i] = () -> renderLayer(index);
+        }
+
+        // The first layer is always drawn by the caller
+        int threads = Math.max(1, Math.min(layers.length - 1, Runtime.getRuntime().availableProcessors() - 1));
+        workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "Layer renderer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @return Whether layers can actually be drawn at the same time here;
+     * on a single processor the extra clearing and compositing is pure overhead
+     */
+    public static boolean isUseful() {
+        return Runtime.getRuntime().availableProcessors() > 1;
+    }
+
+    /**
+     * Renders every layer and draws them, in the order given to the
+     * constructor, onto g. Layers inherit g's rendering hints.
+     * @param layerAreas Per layer, the part of the frame it draws into this
+     * frame, or null or empty if it draws nothing; the first layer's entry is ignored
+     */
+    public void render(Graphics2D g, int width, int height, Rectangle[] layerAreas) {
+        frameWidth = width;
+        frameHeight = height;
+        frameHints = g.getRenderingHints();
+        frameBounds.setBounds(0, 0, width, height);
+
+        for (int i = 1; i < layers.length; i++) {
+            pending[i] = null;
+            if (layerAreas[i] == null) {
+                continue;
+            }
+            Rectangle area = areas[i];
+            area.setBounds(layerAreas[i]);
+            Rectangle.intersect(area, frameBounds, area);
+            if (area.isEmpty()) {
+                continue;
+            }
+            if (images[i] == null || images[i].getWidth() != width || images[i].getHeight() != height) {
+                if (images[i] != null) {
+                    images[i].flush();
+                }
+                images[i] = ImageUtils.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+            }
+            pending[i] = workers.submit(tasks[i]);
+        }
+
+        layers[0].draw(g, width, height);
+
+        for (int i = 1; i < layers.length; i++) {
+            if (pending[i] == null) {
+                continue;
+            }
+            try {
+                pending[i].get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                // Skip the broken layer for this frame, keep the rest of the scene
+                System.out.println("Error rendering layer: " + e.getCause());
+                continue;
+            }
+            Rectangle area = areas[i];
+            int right = area.x + area.width;
+            int bottom = area.y + area.height;
+            g.drawImage(images[i], area.x, area.y, right, bottom, area.x, area.y, right, bottom, null);
+        }
+    }
+
+    private void renderLayer(int index) {
+        Rectangle area = areas[index];
+        Graphics2D g = images[index].createGraphics();
+        try {
+            // Pixels outside the area are stale but never composited
+            g.setComposite(AlphaComposite.Clear);
+            g.fillRect(area.x, area.y, area.width, area.height);
+            g.setComposite(AlphaComposite.SrcOver);
+            g.setRenderingHints(frameHints);
+            g.clip(area);
+            layers[index].draw(g, frameWidth, frameHeight);
+        } finally {
+            g.dispose();
+        }
+    }
+
+    /**
+     * Stops the worker threads; the renderer cannot be used afterwards
+     */
+    public void shutdown() {
+        workers.shutdownNow();
+        for (BufferedImage image : images) {
+            if (image != null) {
+                image.flush();
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+import java.util.Arrays;
+
+/**
+ * Tracks which letters the player struggles with during a session.
+ * Letters of words that reach the base gain weakness, letters of defeated
+ * words slowly recover. Word samplers poll version() to know when to reweight.
+ */
+public class LetterWeakness {
+    private static final int ALPHABET = 26;
+    private static final float MISS_PENALTY = 1.0f;
+    private static final float HIT_RECOVERY = 0.85f;
+    private static final float MAX_WEAKNESS = 4.0f;
+
+    private static final float[] weakness = new float[ALPHABET];
+    private static volatile int version = 0;
+
+    private LetterWeakness() {
+    }
+
+    public static synchronized void recordMiss(String word) {
+        if (word == null || word.isEmpty()) {
+            return;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            int letter = letterIndex(word.charAt(i));
+            if (letter >= 0) {
+                weakness[letter] = Math.min(MAX_WEAKNESS, weakness[letter] + MISS_PENALTY);
+            }
+        }
+        version++;
+    }
+
+    public static synchronized void recordHit(String word) {
+        if (word == null || word.isEmpty()) {
+            return;
+        }
+        boolean changed = false;
+        for (int i = 0; i < word.length(); i++) {
+            int letter = letterIndex(word.charAt(i));
+            if (letter >= 0 && weakness[letter] > 0) {
+                weakness[letter] *= HIT_RECOVERY;
+                if (weakness[letter] < 0.01f) {
+                    weakness[letter] = 0;
+                }
+                changed = true;
+            }
+        }
+        if (changed) {
+            version++;
+        }
+    }
+
+    public static synchronized void reset() {
+        Arrays.fill(weakness, 0);
+        version++;
+    }
+
+    /**
+     * Copies the current weakness per letter ('a' = 0) into out
+     */
+    public static synchronized void copyTo(float[] out) {
+        System.arraycopy(weakness, 0, out, 0, ALPHABET);
+    }
+
+    public static int version() {
+        return version;
+    }
+
+    static int letterIndex(char c) {
+        char lower = Character.toLowerCase(c);
+        return (lower >= 'a' && lower <= 'z') ? lower - 'a' : -1;
+    }
+}
@@ -6,14 +6,15 @@ import java.awt.event.MouseEvent;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.net.URL;
-import javax.sound.sampled.*;
 
 public class MainMenu extends JPanel {
     private JButton playButton;
     private JButton exitButton;
     private ImageIcon logoGif;
-    private Clip backgroundMusic;
-    private boolean musicInitialized = false;
+    private JLabel loadingLabel;
+    private Timer loadingTimer;
+    private static final String MENU_MUSIC = "MainMenu.wav";
+    private static final Sound CLICK_SOUND = SoundCache.get("Click.wav");
 
     private static final Color BACKGROUND_COLOR = new Color(10, 10, 20);
     private static final Color BUTTON_COLOR = new Color(80, 80, 200);
@@ -24,9 +25,6 @@ public class MainMenu extends JPanel {
         setLayout(new BorderLayout());
         setBackground(BACKGROUND_COLOR); 
 
-        // Initialize the music but don't play it yet
-        initializeBackgroundMusic();
-
         JPanel centerPanel = new JPanel();
         centerPanel.setLayout(new BoxLayout(centerPanel, BoxLayout.Y_AXIS));
         centerPanel.setBackground(BACKGROUND_COLOR);
@@ -74,6 +72,7 @@ public class MainMenu extends JPanel {
         centerPanel.add(titleLabel);
         centerPanel.add(Box.createRigidArea(new Dimension(0, 40)));
         centerPanel.add(buttonPanel);
+        centerPanel.add(createLoadingLabel());
         centerPanel.add(Box.createVerticalGlue());
         
         // Center panel to main panel
@@ -95,6 +94,33 @@ public class MainMenu extends JPanel {
         });
     }
 
+    /**
+     * Shows how far AssetPreloader has got, and nothing once it is done
+     */
+    private JLabel createLoadingLabel() {
+        loadingLabel = new JLabel(" ");
+        loadingLabel.setFont(new Font("Arial", Font.PLAIN, 12));
+        loadingLabel.setForeground(new Color(150, 150, 180));
+        loadingLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
+        
+        loadingTimer = new Timer(100, e -> updateLoadingLabel());
+        updateLoadingLabel();
+        if (!AssetPreloader.isDone()) {
+            loadingTimer.start();
+        }
+        return loadingLabel;
+    }
+    
+    private void updateLoadingLabel() {
+        if (AssetPreloader.isDone()) {
+            // A space keeps the label's height so the menu does not shift
+            loadingLabel.setText(" ");
+            loadingTimer.stop();
+        } else {
+            loadingLabel.setText("Loading assets... " + Math.round(AssetPreloader.getProgress() * 100) + "%");
+        }
+    }
+
     private void performButtonClickTransition(JButton button, ActionListener action) {
         Color originalColor = button.getBackground();
         Font originalFont = button.getFont();
@@ -136,70 +162,15 @@ public class MainMenu extends JPanel {
     }
     
     private void playClickSound() {
-        try {
-            URL soundUrl = getClass().getResource("/assets/Sounds/click.wav");
-            AudioInputStream audioStream;
-            
-            if (soundUrl != null) {
-                audioStream = AudioSystem.getAudioInputStream(soundUrl);
-            } else {
-                File soundFile = new File("src/assets/Sounds/click.wav");
-                if (!soundFile.exists()) {
-                    return;
-                }
-                audioStream = AudioSystem.getAudioInputStream(soundFile);
-            }
-            
-            Clip clip = AudioSystem.getClip();
-            clip.open(audioStream);
-            clip.start();
-            
-        } catch (Exception e) {
-        }
-    }
-
-    private void initializeBackgroundMusic() {
-        try {
-            URL audioUrl = getClass().getResource("/assets/Sounds/MainMenu.wav");
-            AudioInputStream audioStream;
-            
-            if (audioUrl != null) {
-                audioStream = AudioSystem.getAudioInputStream(audioUrl);
-            } else {
-                File audioFile = new File("src/assets/Sounds/MainMenu.wav");
-                if (!audioFile.exists()) {
-                    System.out.println("MainMenu.wav not found at: " + audioFile.getAbsolutePath());
-                    return;
-                }
-                audioStream = AudioSystem.getAudioInputStream(audioFile);
-            }
-            
-            backgroundMusic = AudioSystem.getClip();
-            backgroundMusic.open(audioStream);
-            musicInitialized = true;
-            
-        } catch (Exception e) {
-            System.out.println("Error initializing background music: " + e.getMessage());
-            e.printStackTrace();
-        }
+        AudioEngine.play(CLICK_SOUND, 1f, AudioEngine.PRIORITY_LOW);
     }
 
     public void playBackgroundMusic() {
-        if (!musicInitialized) {
-            initializeBackgroundMusic();
-        }
-        
-        if (backgroundMusic != null && !backgroundMusic.isRunning()) {
-            backgroundMusic.setFramePosition(0); // Reset to beginning
-            backgroundMusic.loop(Clip.LOOP_CONTINUOUSLY);
-            backgroundMusic.start();
-        }
+        MusicPlayer.play(MENU_MUSIC);
     }
 
     public void stopBackgroundMusic() {
-        if (backgroundMusic != null && backgroundMusic.isRunning()) {
-            backgroundMusic.stop();
-        }
+        MusicPlayer.stop(MENU_MUSIC);
     }
     
     private JButton createMenuButton(String text) {
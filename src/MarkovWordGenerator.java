@@ -0,0 +1,256 @@
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Character-level Markov model trained on a word list that produces new,
+ * pronounceable pseudo-words. The state is the previous {@code order}
+ * characters (a-z plus a word boundary), transitions are kept as cumulative
+ * counts in one flat int array, and generation writes into a caller-supplied
+ * char buffer so producing words creates no garbage.
+ */
+public class MarkovWordGenerator {
+    private static final int SYMBOLS = 27; // a-z plus word boundary
+    private static final int BOUNDARY = 26;
+    private static final int MAX_ATTEMPTS = 50;
+
+    // Longest word that fits the base-27 long encoding used for the novelty check
+    private static final int MAX_ENCODED_LENGTH = 13;
+
+    private final int order;
+    private final int stateCount;
+
+    // State whose whole history is word boundaries, i.e. the start of a word
+    private final int startState;
+
+    // cumulative[state * SYMBOLS + k] = number of times symbols 0..k followed state
+    private final int[] cumulative;
+
+    // Training words encoded as longs and sorted, to reject real words
+    private final long[] trainingWords;
+
+    private final int minLength;
+    private final int maxLength;
+
+    private final char[] buffer;
+
+    /**
+     * @param words Training words; anything that is not purely a-z is ignored
+     * @param order Number of previous characters the next one depends on (2 or 3 work well)
+     */
+    public MarkovWordGenerator(String[] words, int order) {
+        this.order = Math.max(1, order);
+        int states = 1;
+        for (int i = 0; i < this.order; i++) {
+            states *= SYMBOLS;
+        }
+        this.stateCount = states;
+        this.startState = states - 1;
+        this.cumulative = new int[stateCount * SYMBOLS];
+
+        long[] encoded = new long[words.length];
+        int encodedCount = 0;
+        int shortest = Integer.MAX_VALUE;
+        int longest = 0;
+
+        for (String raw : words) {
+            String word = raw.toLowerCase();
+            if (!isTrainable(word)) {
+                continue;
+            }
+
+            int state = startState;
+            for (int i = 0; i <= word.length(); i++) {
+                int symbol = (i < word.length()) ? word.charAt(i) - 'a' : BOUNDARY;
+                cumulative[state * SYMBOLS + symbol]++;
+                state = nextState(state, symbol);
+            }
+
+            shortest = Math.min(shortest, word.length());
+            longest = Math.max(longest, word.length());
+            if (word.length() <= MAX_ENCODED_LENGTH) {
+                encoded[encodedCount++] = encode(word);
+            }
+        }
+
+        // Turn the counts into cumulative distributions per state
+        for (int s = 0; s < stateCount; s++) {
+            int base = s * SYMBOLS;
+            for (int k = 1; k < SYMBOLS; k++) {
+                cumulative[base + k] += cumulative[base + k - 1];
+            }
+        }
+
+        trainingWords = Arrays.copyOf(encoded, encodedCount);
+        Arrays.sort(trainingWords);
+
+        minLength = (longest == 0) ? 3 : shortest;
+        maxLength = (longest == 0) ? 3 : longest;
+        buffer = new char[Math.max(maxLength, 1)];
+    }
+
+    /**
+     * Generates a pseudo-word into out without allocating.
+     * Real training words are rejected; if no novel word turns up within
+     * the attempt budget a training word is returned instead.
+     * @return The number of characters written, or 0 if the model is empty
+     */
+    public int generate(char[] out, Random random) {
+        return generate(out, 0, random);
+    }
+
+    /**
+     * Like generate(out, random), but the word never starts with an excluded letter
+     * @param excludedFirstLetters Bit mask of first letters to avoid ('a' = bit 0)
+     * @return The number of characters written, or 0 if the model starts no word with an allowed letter
+     */
+    public int generate(char[] out, int excludedFirstLetters, Random random) {
+        int lengthLimit = Math.min(maxLength, out.length);
+        if (startWeight(excludedFirstLetters) == 0 || lengthLimit < minLength) {
+            return 0;
+        }
+
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            int length = generateOnce(out, lengthLimit, excludedFirstLetters, random);
+            if (length >= minLength && !isTrainingWord(out, length)) {
+                return length;
+            }
+        }
+
+        // Small models may have no novel words left, settle for any valid one
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            int length = generateOnce(out, lengthLimit, excludedFirstLetters, random);
+            if (length >= minLength) {
+                return length;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Convenience wrapper around generate() for callers that need a String,
+     * such as Monster. Only the returned String is allocated.
+     */
+    public String nextWord() {
+        return nextWord(0);
+    }
+
+    /**
+     * @param excludedFirstLetters Bit mask of first letters to avoid ('a' = bit 0)
+     * @return A pseudo-word, or null if the model starts no word with an allowed letter
+     */
+    public String nextWord(int excludedFirstLetters) {
+        int length = generate(buffer, excludedFirstLetters, Constants.RANDOM);
+        return length > 0 ? new String(buffer, 0, length) : null;
+    }
+
+    private int generateOnce(char[] out, int lengthLimit, int excludedFirstLetters, Random random) {
+        int state = startState;
+        int length = 0;
+        while (true) {
+            int symbol = (length == 0) ? sampleStart(excludedFirstLetters, random) : sample(state, random);
+            if (symbol == BOUNDARY) {
+                return length;
+            }
+            if (length == lengthLimit) {
+                // Too long, treat as a failed attempt
+                return 0;
+            }
+            out[length++] = (char) ('a' + symbol);
+            state = nextState(state, symbol);
+        }
+    }
+
+    private int sample(int state, Random random) {
+        int base = state * SYMBOLS;
+        int total = cumulative[base + SYMBOLS - 1];
+        if (total == 0) {
+            return BOUNDARY;
+        }
+
+        int target = random.nextInt(total);
+        int low = 0;
+        int high = SYMBOLS - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cumulative[base + mid] > target) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Samples the first letter, leaving out the excluded ones
+     */
+    private int sampleStart(int excludedFirstLetters, Random random) {
+        if (excludedFirstLetters == 0) {
+            return sample(startState, random);
+        }
+        int target = random.nextInt(startWeight(excludedFirstLetters));
+        int base = startState * SYMBOLS;
+        for (int k = 0; k < BOUNDARY; k++) {
+            if ((excludedFirstLetters & (1 << k)) != 0) {
+                continue;
+            }
+            target -= cumulative[base + k] - (k == 0 ? 0 : cumulative[base + k - 1]);
+            if (target < 0) {
+                return k;
+            }
+        }
+        return BOUNDARY;
+    }
+
+    // How many training words start with a letter that is not excluded
+    private int startWeight(int excludedFirstLetters) {
+        int base = startState * SYMBOLS;
+        int weight = 0;
+        for (int k = 0; k < BOUNDARY; k++) {
+            if ((excludedFirstLetters & (1 << k)) == 0) {
+                weight += cumulative[base + k] - (k == 0 ? 0 : cumulative[base + k - 1]);
+            }
+        }
+        return weight;
+    }
+
+    private int nextState(int state, int symbol) {
+        return (state * SYMBOLS + symbol) % stateCount;
+    }
+
+    private boolean isTrainingWord(char[] word, int length) {
+        if (length > MAX_ENCODED_LENGTH) {
+            return false;
+        }
+        long code = 0;
+        for (int i = 0; i < length; i++) {
+            code = code * SYMBOLS + (word[i] - 'a' + 1);
+        }
+        return Arrays.binarySearch(trainingWords, code) >= 0;
+    }
+
+    private static long encode(String word) {
+        long code = 0;
+        for (int i = 0; i < word.length(); i++) {
+            code = code * SYMBOLS + (word.charAt(i) - 'a' + 1);
+        }
+        return code;
+    }
+
+    private static boolean isTrainable(String word) {
+        if (word.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (c < 'a' || c > 'z') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int getOrder() {
+        return order;
+    }
+}
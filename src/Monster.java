@@ -1,6 +1,4 @@
 import java.awt.*;
-import java.awt.geom.AffineTransform;
-import javax.swing.ImageIcon;
 import java.io.BufferedReader;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -13,102 +11,64 @@ public class Monster {
     private String thirdWord;
     private double relativeX, relativeY;
 
-    private static final Image MONSTER_IMAGE;
-    private static final Image CHILD_MONSTER_IMAGE;
-    private static final Image BOSS_MONSTER_IMAGE;
-    private static final Image JAM_MONSTER_IMAGE;
-    private static final Image LIFE_MONSTER_IMAGE;
-    private static final Image REVERSE_MONSTER_IMAGE;
+    // Decoded once; every monster picks its own frame from the game clock
+    private static final AnimatedSprite MONSTER_SPRITE;
+    private static final AnimatedSprite CHILD_MONSTER_SPRITE;
+    private static final AnimatedSprite BOSS_MONSTER_SPRITE;
+    private static final AnimatedSprite JAM_MONSTER_SPRITE;
+    private static final AnimatedSprite LIFE_MONSTER_SPRITE;
+    private static final AnimatedSprite REVERSE_MONSTER_SPRITE;
     
     // List to store medium words
     private static final List<String> MEDIUM_WORDS = new ArrayList<>();
     private static final String MEDIUM_WORDS_FILE = "/assets/words/medium_words.txt"; 
+    private static final WeightedWordSampler MEDIUM_WORD_SAMPLER;
 
     static {
-        ImageIcon monsterIcon = null;
-        ImageIcon childMonsterIcon = null;
-        ImageIcon bossMonsterIcon = null;
-        ImageIcon jamMonsterIcon = null;
-        ImageIcon lifeMonsterIcon = null;
-        ImageIcon reverseMonsterIcon = null;
-        try {
-            // Using absolute path with leading slash
-            monsterIcon = new ImageIcon(Monster.class.getResource("/assets/MonsterTyper_Zombie.gif"));
-            if (monsterIcon.getIconWidth() <= 0) {
-                System.out.println("Warning: Monster image loaded but has invalid dimensions");
-                monsterIcon = null;
-            }
-            
-            // Load the child monster image
-            childMonsterIcon = new ImageIcon(Monster.class.getResource("/assets/bat.gif"));
-            if (childMonsterIcon.getIconWidth() <= 0) {
-                System.out.println("Warning: Child monster image loaded but has invalid dimensions");
-                childMonsterIcon = null;
-            }
-            
-            // Load the boss monster image
-            bossMonsterIcon = new ImageIcon(Monster.class.getResource("/assets/MonsterTyper_Boss.gif"));
-            if (bossMonsterIcon.getIconWidth() <= 0) {
-                System.out.println("Warning: Boss monster image loaded but has invalid dimensions");
-                bossMonsterIcon = null;
-            }
-            
-            // Load the jam monster image
-            jamMonsterIcon = new ImageIcon(Monster.class.getResource("/assets/MonsterTyper_JamMonster.gif"));
-            if (jamMonsterIcon.getIconWidth() <= 0) {
-                System.out.println("Warning: Jam monster image loaded but has invalid dimensions");
-                jamMonsterIcon = null;
-            }
-            
-            // Load the extra life monster image
-            lifeMonsterIcon = new ImageIcon(Monster.class.getResource("/assets/MonsterTyper_Life.gif"));
-            if (lifeMonsterIcon.getIconWidth() <= 0) {
-                System.out.println("Warning: Life monster image loaded but has invalid dimensions");
-                lifeMonsterIcon = null;
-            }
-            
-            // Load the reverse monster image
-            reverseMonsterIcon = new ImageIcon(Monster.class.getResource("/assets/MonsterTyper_Reverse.gif"));
-            if (reverseMonsterIcon.getIconWidth() <= 0) {
-                System.out.println("Warning: Reverse monster image loaded but has invalid dimensions");
-                reverseMonsterIcon = null;
-            }
-        } catch (Exception e) {
-            System.out.println("Failed to load monster images: " + e.getMessage());
-        }
-        MONSTER_IMAGE = (monsterIcon != null) ? monsterIcon.getImage() : null;
-        CHILD_MONSTER_IMAGE = (childMonsterIcon != null) ? childMonsterIcon.getImage() : null;
-        BOSS_MONSTER_IMAGE = (bossMonsterIcon != null) ? bossMonsterIcon.getImage() : null;
-        JAM_MONSTER_IMAGE = (jamMonsterIcon != null) ? jamMonsterIcon.getImage() : null;
-        LIFE_MONSTER_IMAGE = (lifeMonsterIcon != null) ? lifeMonsterIcon.getImage() : null;
-        REVERSE_MONSTER_IMAGE = (reverseMonsterIcon != null) ? reverseMonsterIcon.getImage() : null;
-
-        if (MONSTER_IMAGE == null) {
-            System.out.println("Warning: MONSTER_IMAGE is null. Monster won't be drawn.");
+        MONSTER_SPRITE = loadSprite("/assets/MonsterTyper_Zombie.gif", "Monster");
+        CHILD_MONSTER_SPRITE = loadSprite("/assets/Bat.gif", "Child monster");
+        BOSS_MONSTER_SPRITE = loadSprite("/assets/MonsterTyper_Boss.gif", "Boss monster");
+        JAM_MONSTER_SPRITE = loadSprite("/assets/MonsterTyper_JamMonster.gif", "Jam monster");
+        LIFE_MONSTER_SPRITE = loadSprite("/assets/MonsterTyper_Life.gif", "Life monster");
+        REVERSE_MONSTER_SPRITE = loadSprite("/assets/MonsterTyper_Reverse.gif", "Reverse monster");
+
+        if (MONSTER_SPRITE == null) {
+            System.out.println("Warning: MONSTER_SPRITE is null. Monster won't be drawn.");
         }
         
-        if (CHILD_MONSTER_IMAGE == null) {
-            System.out.println("Warning: CHILD_MONSTER_IMAGE is null. Child monsters will use placeholder.");
+        if (CHILD_MONSTER_SPRITE == null) {
+            System.out.println("Warning: CHILD_MONSTER_SPRITE is null. Child monsters will use placeholder.");
         }
         
-        if (BOSS_MONSTER_IMAGE == null) {
-            System.out.println("Warning: BOSS_MONSTER_IMAGE is null. Boss monsters will use placeholder.");
+        if (BOSS_MONSTER_SPRITE == null) {
+            System.out.println("Warning: BOSS_MONSTER_SPRITE is null. Boss monsters will use placeholder.");
         }
         
-        if (JAM_MONSTER_IMAGE == null) {
-            System.out.println("Warning: JAM_MONSTER_IMAGE is null. Jam monsters will use placeholder.");
+        if (JAM_MONSTER_SPRITE == null) {
+            System.out.println("Warning: JAM_MONSTER_SPRITE is null. Jam monsters will use placeholder.");
         }
         
-        if (LIFE_MONSTER_IMAGE == null) {
-            System.out.println("Warning: LIFE_MONSTER_IMAGE is null. Life monsters will use placeholder.");
+        if (LIFE_MONSTER_SPRITE == null) {
+            System.out.println("Warning: LIFE_MONSTER_SPRITE is null. Life monsters will use placeholder.");
         }
         
-        if (REVERSE_MONSTER_IMAGE == null) {
-            System.out.println("Warning: REVERSE_MONSTER_IMAGE is null. Reverse monsters will use placeholder.");
+        if (REVERSE_MONSTER_SPRITE == null) {
+            System.out.println("Warning: REVERSE_MONSTER_SPRITE is null. Reverse monsters will use placeholder.");
         }
         
         // Load medium words
         loadMediumWords();
+        MEDIUM_WORD_SAMPLER = new WeightedWordSampler(MEDIUM_WORDS.toArray(new String[0]));
+    }
+    
+    // Each sprite loads on its own so one missing file does not take the others down
+    private static AnimatedSprite loadSprite(String path, String name) {
+        try {
+            return AssetPreloader.sprite(path);
+        } catch (Exception e) {
+            System.out.println("Failed to load " + name + " image: " + e.getMessage());
+            return null;
+        }
     }
     
     // Method to load medium words for child monsters
@@ -138,7 +98,7 @@ public class Monster {
         if (MEDIUM_WORDS.isEmpty()) {
             return "medium"; // Fallback word
         }
-        return MEDIUM_WORDS.get(Constants.RANDOM.nextInt(MEDIUM_WORDS.size()));
+        return MEDIUM_WORD_SAMPLER.next();
     }
 
     private boolean hasJamPower;
@@ -151,6 +111,56 @@ public class Monster {
     private int hitFlashFrame = 0;
     private static final int MAX_HIT_FLASH_FRAMES = 5;
 
+    // Parts of a monster for draw(Graphics, int, int, int); crowded screens draw fewer of them
+    public static final int DETAIL_SPRITE = 1;
+    public static final int DETAIL_ANIMATION = 2;
+    public static final int DETAIL_HEALTH_BAR = 4;
+    public static final int DETAIL_LABEL = 8;
+    public static final int DETAIL_POWER = 16;
+    // Replaces the sprite with a small square in the monster's color
+    public static final int DETAIL_SIMPLIFIED = 32;
+    public static final int DETAIL_FULL = DETAIL_SPRITE | DETAIL_ANIMATION | DETAIL_HEALTH_BAR
+        | DETAIL_LABEL | DETAIL_POWER;
+
+    // Random offset into the animation so monsters of one type don't move in lockstep
+    private final int animationPhase = Constants.RANDOM.nextInt(10000);
+
+    // Shared drawing resources so drawing a monster allocates nothing
+    private static final Font WORD_FONT = new Font("Arial", Font.BOLD, 14);
+    private static final Font CHILD_WORD_FONT = new Font("Arial", Font.BOLD, 12);
+    private static final Font[] HIT_WORD_FONTS = new Font[MAX_HIT_FLASH_FRAMES + 1];
+    private static final Font[] CHILD_HIT_WORD_FONTS = new Font[MAX_HIT_FLASH_FRAMES + 1];
+    private static final Color[] HIT_HALO_COLORS = new Color[MAX_HIT_FLASH_FRAMES + 1];
+    private static final Color HIT_WORD_COLOR = new Color(255, 255, 0); // Yellow highlight
+    // Placeholder colors by type: regular, child, boss, jam, life, reverse
+    private static final Color[] PLACEHOLDER_COLORS = {
+        Color.GREEN,
+        new Color(100, 180, 100), // Lighter green for children
+        new Color(200, 130, 30), // Orange for boss monsters
+        new Color(255, 0, 255), // Purple for jam monsters
+        new Color(0, 220, 0), // Green for life monsters
+        new Color(30, 144, 255) // Blue for reverse monsters
+    };
+    // Muted versions for simplified distant monsters
+    private static final Color[] SIMPLIFIED_COLORS = new Color[PLACEHOLDER_COLORS.length];
+
+    // Largest font a word label is drawn with, for bounds
+    private static final int LABEL_MAX_FONT_SIZE;
+
+    static {
+        // The hit flash scales the word up and fades the halo as it counts down
+        for (int frame = 0; frame <= MAX_HIT_FLASH_FRAMES; frame++) {
+            HIT_WORD_FONTS[frame] = new Font("Arial", Font.BOLD, 12 + (int)(frame * 0.8));
+            CHILD_HIT_WORD_FONTS[frame] = new Font("Arial", Font.BOLD, 10 + (int)(frame * 0.6));
+            HIT_HALO_COLORS[frame] = new Color(255, 255, 255, 50 + frame * 20);
+        }
+        LABEL_MAX_FONT_SIZE = HIT_WORD_FONTS[MAX_HIT_FLASH_FRAMES].getSize();
+
+        for (int i = 0; i < PLACEHOLDER_COLORS.length; i++) {
+            SIMPLIFIED_COLORS[i] = PLACEHOLDER_COLORS[i].darker().darker();
+        }
+    }
+
     public Monster(int x, int y, String word) {
         // Initialize word first to avoid potential null reference
         this.word = word != null ? word : "";
@@ -169,7 +179,7 @@ public class Monster {
             this.hasExtraLife = false;
             this.hasReverseInputPower = false;
             this.health = 3; // Health of boss
-            this.size = (int)(Constants.MONSTER_SIZE * 3.5);
+            this.size = Constants.BOSS_MONSTER_SIZE;
             
             // Generate a second word for the boss monster
             this.secondWord = getRandomMediumWord();
@@ -262,23 +272,35 @@ public class Monster {
     }
 
     public void draw(Graphics g, int panelWidth, int panelHeight) {
-        Image imageToUse;
+        draw(g, panelWidth, panelHeight, DETAIL_FULL);
+    }
+
+    /**
+     * Draws only the parts of the monster selected by the DETAIL_* bits,
+     * e.g. just the label when bodies and labels are drawn in separate passes
+     */
+    public void draw(Graphics g, int panelWidth, int panelHeight, int detail) {
+        AnimatedSprite spriteToUse;
         if (isChildMonster) {
-            imageToUse = CHILD_MONSTER_IMAGE;
+            spriteToUse = CHILD_MONSTER_SPRITE;
         } else if (canSplit) {
-            imageToUse = BOSS_MONSTER_IMAGE;
+            spriteToUse = BOSS_MONSTER_SPRITE;
         } else if (hasJamPower) {
-            imageToUse = JAM_MONSTER_IMAGE;
+            spriteToUse = JAM_MONSTER_SPRITE;
         } else if (hasExtraLife) {
-            imageToUse = LIFE_MONSTER_IMAGE;
+            spriteToUse = LIFE_MONSTER_SPRITE;
         } else if (hasReverseInputPower) {
-            imageToUse = REVERSE_MONSTER_IMAGE;
+            spriteToUse = REVERSE_MONSTER_SPRITE;
         } else {
-            imageToUse = MONSTER_IMAGE;
+            spriteToUse = MONSTER_SPRITE;
         }
         
-        if (imageToUse == null) {
-            drawPlaceholderMonster(g, panelWidth, panelHeight);
+        if ((detail & DETAIL_SIMPLIFIED) != 0) {
+            drawSimplified(g, panelWidth, panelHeight);
+            return;
+        }
+        if (spriteToUse == null) {
+            drawPlaceholderMonster(g, panelWidth, panelHeight, detail);
             return;
         }
 
@@ -286,6 +308,41 @@ public class Monster {
 
         int realX = (int) (relativeX * panelWidth);
         int realY = (int) (relativeY * panelHeight);
+        int scaledSize = getSpriteSize(panelWidth, panelHeight);
+
+        // Apply hit flash effect
+        int bounceOffset = 0;
+        if (hitFlashFrame > 0) {
+            // Add a slight "bounce" effect when hit
+            bounceOffset = (int)(3 * Math.sin(hitFlashFrame * Math.PI / MAX_HIT_FLASH_FRAMES));
+        }
+
+        // Pre-scaled, horizontally flipped frame: a plain 1:1 blit
+        if ((detail & DETAIL_SPRITE) != 0) {
+            boolean animate = (detail & DETAIL_ANIMATION) != 0 && RenderQuality.animateSprites();
+            int frame = animate ? spriteToUse.frameAt(GameClock.millis() + animationPhase) : 0;
+            Image sprite = SpriteCache.get(spriteToUse, frame, scaledSize, true);
+            g2d.drawImage(sprite, realX, realY + bounceOffset, null);
+        }
+
+        // Draw health bar
+        if ((detail & DETAIL_HEALTH_BAR) != 0) {
+            drawHealthBar(g, realX, realY, scaledSize);
+        }
+
+        // Draw the word
+        if ((detail & DETAIL_LABEL) != 0) {
+            drawWord(g, realX, realY, scaledSize);
+        }
+        
+        // Draw power indicator if monster has special powers
+        if ((detail & DETAIL_POWER) != 0) {
+            drawPowerIndicator(g, realX, realY, scaledSize);
+        }
+    }
+    
+    // Size of the sprite on screen; power monsters are drawn a little larger
+    private int getSpriteSize(int panelWidth, int panelHeight) {
         int scaledSize = (int) (size * Math.min(
             panelWidth / (double) Constants.WIDTH,
             panelHeight / (double) Constants.HEIGHT
@@ -298,46 +355,30 @@ public class Monster {
         } else if (hasReverseInputPower && !isChildMonster) {
             scaledSize = (int)(scaledSize * 1.2);
         }
+        return scaledSize;
+    }
 
-        AffineTransform oldTransform = g2d.getTransform();
-
-        // Apply hit flash effect
-        if (hitFlashFrame > 0) {
-            // Add a slight "bounce" effect when hit
-            int bounceOffset = (int)(3 * Math.sin(hitFlashFrame * Math.PI / MAX_HIT_FLASH_FRAMES));
-            g2d.translate(0, bounceOffset);
-        }
-
-        // Flip image horizontally
-        g2d.translate(realX + scaledSize, realY);
-        g2d.scale(-1, 1);
-
-        if (hasJamPower && !isChildMonster) {
-            int yOffset = 0; 
-            g2d.drawImage(imageToUse, 0, yOffset, scaledSize, scaledSize, null);
-        } else if (hasExtraLife && !isChildMonster) {
-            int yOffset = 0;
-            g2d.drawImage(imageToUse, 0, yOffset, scaledSize, scaledSize, null);
-        } else if (hasReverseInputPower && !isChildMonster) {
-            int yOffset = 0;
-            g2d.drawImage(imageToUse, 0, yOffset, scaledSize, scaledSize, null);
-        } else {
-            g2d.drawImage(imageToUse, 0, 0, scaledSize, scaledSize, null);
-        }
-
-        // Restore the original transform
-        g2d.setTransform(oldTransform);
+    /**
+     * Stores in out a box containing everything draw paints for this monster:
+     * sprite, health bar, power indicator, hit halo and bounce, and the word
+     * label at its largest hit-flash size
+     */
+    public void getBounds(int panelWidth, int panelHeight, Rectangle out) {
+        int realX = (int) (relativeX * panelWidth);
+        int realY = (int) (relativeY * panelHeight);
+        int scaledSize = getSpriteSize(panelWidth, panelHeight);
 
-        // Draw health bar
-        drawHealthBar(g, realX, realY, scaledSize);
+        // No glyph is wider than the font size; the label is centered under the sprite
+        int labelHalfWidth = (word.length() * LABEL_MAX_FONT_SIZE) / 2 + 2;
+        int centerX = realX + scaledSize / 2;
 
-        // Draw the word
-        drawWord(g, realX, realY, scaledSize);
-        
-        // Draw power indicator if monster has special powers
-        drawPowerIndicator(g, realX, realY, scaledSize);
+        int left = Math.min(realX - 5, centerX - labelHalfWidth);
+        int right = Math.max(realX + scaledSize + 5, centerX + labelHalfWidth);
+        int top = realY - 10; // Health bar
+        int bottom = realY + scaledSize + LABEL_MAX_FONT_SIZE * 2;
+        out.setBounds(left, top, right - left, bottom - top);
     }
-    
+
     private void drawHealthBar(Graphics g, int realX, int realY, int scaledSize) {
         int healthBarHeight = 3;
         int healthBarWidth = scaledSize - 5;
@@ -349,7 +390,7 @@ public class Monster {
         g.fillRect(healthBarX, healthBarY, healthBarWidth, healthBarHeight);
         
         // Filled health based on current health
-        float healthPercent = health / (canSplit ? 3.0f : 1.0f);
+        float healthPercent = health / (float) getMaxHealth();
         int filledWidth = (int)(healthBarWidth * healthPercent);
         
         // Flash effect when hit
@@ -361,7 +402,7 @@ public class Monster {
         g.fillRect(healthBarX, healthBarY, filledWidth, healthBarHeight);
     }
     
-    private void drawPlaceholderMonster(Graphics g, int panelWidth, int panelHeight) {
+    private void drawPlaceholderMonster(Graphics g, int panelWidth, int panelHeight, int detail) {
         int realX = (int) (relativeX * panelWidth);
         int realY = (int) (relativeY * panelHeight);
         int scaledSize = (int) (size * Math.min(
@@ -369,38 +410,59 @@ public class Monster {
             panelHeight / (double) Constants.HEIGHT
         ));
         
-        // Apply hit animation for placeholder monsters too
-        if (hitFlashFrame > 0) {
-            // Draw a white halo/glow effect
-            g.setColor(new Color(255, 255, 255, 50 + hitFlashFrame * 20));
-            g.fillOval(
-                realX - 5, 
-                realY - 5, 
-                scaledSize + 10, 
-                scaledSize + 10
-            );
+        if ((detail & DETAIL_SPRITE) != 0) {
+            // Apply hit animation for placeholder monsters too
+            if (hitFlashFrame > 0) {
+                // Draw a white halo/glow effect
+                g.setColor(HIT_HALO_COLORS[hitFlashFrame]);
+                g.fillOval(
+                    realX - 5, 
+                    realY - 5, 
+                    scaledSize + 10, 
+                    scaledSize + 10
+                );
+            }
+
+            g.setColor(PLACEHOLDER_COLORS[getTypeIndex()]);
+            g.fillRect(realX, realY, scaledSize, scaledSize);
+        }
+        
+        // Draw the word
+        if ((detail & DETAIL_LABEL) != 0) {
+            drawWord(g, realX, realY, scaledSize);
+        }
+        
+        // Draw power indicator if monster has special powers
+        if ((detail & DETAIL_POWER) != 0) {
+            drawPowerIndicator(g, realX, realY, scaledSize);
         }
+    }
+    
+    // Stand-in for distant monsters in a huge crowd: a plain fill is far cheaper than a sprite blit
+    private void drawSimplified(Graphics g, int panelWidth, int panelHeight) {
+        int realX = (int) (relativeX * panelWidth);
+        int realY = (int) (relativeY * panelHeight);
+        int scaledSize = getSpriteSize(panelWidth, panelHeight);
+        int inset = scaledSize / 4;
+
+        g.setColor(SIMPLIFIED_COLORS[getTypeIndex()]);
+        g.fillRect(realX + inset, realY + inset, scaledSize - inset * 2, scaledSize - inset * 2);
+    }
 
+    // Index into the per-type color tables
+    private int getTypeIndex() {
         if (isChildMonster) {
-            g.setColor(new Color(100, 180, 100)); // Lighter green for children
+            return 1;
         } else if (canSplit) {
-            g.setColor(new Color(200, 130, 30)); // Orange for boss monsters
+            return 2;
         } else if (hasJamPower) {
-            g.setColor(new Color(255, 0, 255)); // Purple for jam monsters
+            return 3;
         } else if (hasExtraLife) {
-            g.setColor(new Color(0, 220, 0)); // Green for life monsters
+            return 4;
         } else if (hasReverseInputPower) {
-            g.setColor(new Color(30, 144, 255)); // Blue for reverse monsters
-        } else {
-            g.setColor(Color.GREEN);
+            return 5;
         }
-        g.fillRect(realX, realY, scaledSize, scaledSize);
-        
-        // Draw the word
-        drawWord(g, realX, realY, scaledSize);
-        
-        // Draw power indicator if monster has special powers
-        drawPowerIndicator(g, realX, realY, scaledSize);
+        return 0;
     }
     
     private void drawWord(Graphics g, int realX, int realY, int scaledSize) {
@@ -408,28 +470,22 @@ public class Monster {
             return;
         }
         
+        Font font;
+        Color color;
         // Highlight word if being hit
         if (hitFlashFrame > 0) {
-            // Use a highlighted color during flash
-            g.setColor(new Color(255, 255, 0)); // Yellow highlight
-            
-            // Scale effect during hit
-            int fontScale = isChildMonster ? 
-                10 + (int)(hitFlashFrame * 0.6) : 
-                12 + (int)(hitFlashFrame * 0.8);
-            g.setFont(new Font("Arial", Font.BOLD, fontScale));
+            // Use a highlighted color and a larger font during flash
+            color = HIT_WORD_COLOR;
+            font = isChildMonster ? CHILD_HIT_WORD_FONTS[hitFlashFrame] : HIT_WORD_FONTS[hitFlashFrame];
         } else {
             // Normal color
-            g.setColor(Color.WHITE);
-            g.setFont(new Font("Arial", Font.BOLD, isChildMonster ? 12 : 14));
+            color = Color.WHITE;
+            font = isChildMonster ? CHILD_WORD_FONT : WORD_FONT;
         }
-        
-        FontMetrics fm = g.getFontMetrics();
-        int textWidth = fm.stringWidth(word);
-        int textX = realX + (scaledSize - textWidth) / 2;
-        int textY = realY + scaledSize + fm.getAscent();
 
-        g.drawString(word, textX, textY);
+        // Cached, pre-rasterized label centered under the sprite
+        LabelCache.drawCentered((Graphics2D) g, word, font, color,
+            realX + scaledSize / 2, realY + scaledSize);
     }
     
     private void drawPowerIndicator(Graphics g, int realX, int realY, int scaledSize) {
@@ -487,6 +543,19 @@ public class Monster {
     public int getHealth() {
         return health;
     }
+
+    // Bosses take three hits, everything else one
+    private int getMaxHealth() {
+        return canSplit ? 3 : 1;
+    }
+
+    public boolean isDamaged() {
+        return health < getMaxHealth();
+    }
+
+    public boolean isHitFlashing() {
+        return hitFlashFrame > 0;
+    }
     
     public void decreaseHealth() {
         health--;
@@ -0,0 +1,101 @@
+import java.util.List;
+
+/**
+ * Decides how much of each monster to draw once the screen gets crowded.
+ * Once per frame it finds how far from the base the N-th nearest monster is,
+ * using quickselect on a reusable array so nothing is sorted or allocated.
+ * Monsters within that distance keep their labels; the rest lose them and,
+ * in bigger crowds, their animation and finally their sprite.
+ * Thresholds are the lod* fields in Constants.
+ */
+public class MonsterLod {
+    private double[] positions = new double[256];
+    private int monsterCount = 0;
+    // Monsters at or left of this relative x are among the nearest to the base
+    private double labelCutoff = Double.MAX_VALUE;
+
+    /**
+     * Works out the detail cut-offs for this frame's monsters
+     */
+    public void update(List<Monster> monsters) {
+        monsterCount = monsters.size();
+        labelCutoff = Double.MAX_VALUE;
+        int labeled = Constants.lodLabeledMonsters;
+        if (monsterCount <= Constants.lodReducedCount || monsterCount <= labeled) {
+            return;
+        }
+        if (labeled <= 0) {
+            labelCutoff = -Double.MAX_VALUE;
+            return;
+        }
+
+        if (positions.length < monsterCount) {
+            positions = new double[Math.max(monsterCount, positions.length * 2)];
+        }
+        for (int i = 0; i < monsterCount; i++) {
+            positions[i] = monsters.get(i).getRelativeX();
+        }
+        labelCutoff = select(positions, monsterCount, labeled - 1);
+    }
+
+    /**
+     * @return The Monster.DETAIL_* bits to draw the monster with this frame
+     */
+    public int detailFor(Monster monster) {
+        int detail = Monster.DETAIL_FULL;
+        if (monsterCount <= Constants.lodReducedCount) {
+            return detail;
+        }
+
+        if (!monster.isDamaged()) {
+            detail &= ~Monster.DETAIL_HEALTH_BAR;
+        }
+        // A monster that was just hit keeps its label so the player sees the hit land
+        if (monster.getRelativeX() > labelCutoff && !monster.isHitFlashing()) {
+            detail &= ~Monster.DETAIL_LABEL;
+            if (monsterCount > Constants.lodStaticCount) {
+                detail &= ~Monster.DETAIL_ANIMATION;
+            }
+            if (monsterCount > Constants.lodSimpleCount) {
+                detail = (detail & ~Monster.DETAIL_POWER) | Monster.DETAIL_SIMPLIFIED;
+            }
+        }
+        return detail;
+    }
+
+    /**
+     * Partially reorders values[0, count) and returns the k-th smallest (0-based)
+     */
+    private static double select(double[] values, int count, int k) {
+        int left = 0;
+        int right = count - 1;
+        while (left < right) {
+            double pivot = values[(left + right) >>> 1];
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (values[i] < pivot) {
+                    i++;
+                }
+                while (values[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    double swap = values[i];
+                    values[i] = values[j];
+                    values[j] = swap;
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) {
+                right = j;
+            } else if (k >= i) {
+                left = i;
+            } else {
+                break; // values[j + 1, i) all equal the pivot
+            }
+        }
+        return values[k];
+    }
+}
@@ -0,0 +1,238 @@
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+
+/**
+ * Background music, streamed instead of loaded whole.
+ * Each playing track has a small ring buffer that a background thread keeps
+ * filled from the file while AudioEngine's mixer drains it, so memory use
+ * does not depend on the length of the track. At the end of the file the
+ * thread reopens it and keeps filling the same buffer, so loops have no gap.
+ * Switching tracks fades the old one out while the new one fades in.
+ */
+public class MusicPlayer {
+    // Half a second of audio per track
+    private static final int BUFFER_FRAMES = 24000;
+    private static final int FADE_FRAMES = 36000;
+    private static final float MUSIC_GAIN = 1f;
+
+    // The track playing or fading in; tracks fading out are only referenced by the engine
+    private static Track current;
+    // Tracks that could not be opened, so they are reported only once
+    private static final Set<String> unavailable = new HashSet<>();
+
+    /**
+     * Starts looping the track, crossfading from whatever plays now.
+     * Does nothing if the track is already playing.
+     * @param name File name in assets/Sounds, e.g. "MainMenu.wav"
+     */
+    public static synchronized void play(String name) {
+        if (current != null && current.name.equals(name)) {
+            return;
+        }
+        fadeOutCurrent();
+        if (unavailable.contains(name)) {
+            return;
+        }
+
+        Track track = Track.open(name);
+        if (track == null) {
+            unavailable.add(name);
+            return;
+        }
+        if (AudioEngine.addStream(track)) {
+            track.startStreaming();
+            current = track;
+        } else {
+            track.close();
+        }
+    }
+
+    /**
+     * Fades the track out if it is the one playing
+     */
+    public static synchronized void stop(String name) {
+        if (current != null && current.name.equals(name)) {
+            fadeOutCurrent();
+        }
+    }
+
+    /**
+     * Fades out whatever plays
+     */
+    public static synchronized void stop() {
+        fadeOutCurrent();
+    }
+
+    private static void fadeOutCurrent() {
+        if (current != null) {
+            current.fadeOut();
+            current = null;
+        }
+    }
+
+    /**
+     * One looping track: filled by its own thread, drained by the mixer
+     */
+    private static class Track implements AudioEngine.Stream, Runnable {
+        private final String name;
+        private AudioInputStream in;
+
+        // Interleaved stereo samples; positions count samples ever written/read
+        private final short[] ring = new short[BUFFER_FRAMES * 2];
+        private volatile long written = 0;
+        private volatile long read = 0;
+
+        // Only the mixer thread changes gain; it moves toward fading's target
+        private float gain = 0;
+        private volatile boolean fadingOut = false;
+        private volatile boolean closed = false;
+        private volatile boolean ended = false;
+
+        private Track(String name, AudioInputStream in) {
+            this.name = name;
+            this.in = in;
+        }
+
+        /**
+         * @return The track, or null if the file is missing or unreadable
+         */
+        static Track open(String name) {
+            AudioInputStream in = openStream(name);
+            return in == null ? null : new Track(name, in);
+        }
+
+        private static AudioInputStream openStream(String name) {
+            try {
+                AudioInputStream source = SoundCache.open(name);
+                if (source == null) {
+                    System.out.println("Music file not found: " + name);
+                    return null;
+                }
+                return toMixFormat(source);
+            } catch (UnsupportedAudioFileException | IOException | IllegalArgumentException e) {
+                System.out.println("Error opening music " + name + ": " + e.getMessage());
+                return null;
+            }
+        }
+
+        private static AudioInputStream toMixFormat(AudioInputStream source) {
+            AudioFormat format = source.getFormat();
+            if (format.matches(AudioEngine.FORMAT)) {
+                return source;
+            }
+            AudioFormat pcm = new AudioFormat(format.getSampleRate(), 16, format.getChannels(), true, false);
+            if (!format.matches(pcm)) {
+                source = AudioSystem.getAudioInputStream(pcm, source);
+            }
+            // Resampled while streaming, a track is too long to convert up front
+            return AudioSystem.getAudioInputStream(AudioEngine.FORMAT, source);
+        }
+
+        void startStreaming() {
+            Thread thread = new Thread(this, "Music streamer");
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        void fadeOut() {
+            fadingOut = true;
+        }
+
+        /**
+         * Closes the file of a track that never started streaming; a streaming
+         * track closes it on its own thread once it is told to stop
+         */
+        void close() {
+            closed = true;
+            try {
+                if (in != null) {
+                    in.close();
+                }
+            } catch (IOException e) {
+                // Nothing left to do with it
+            }
+        }
+
+        /**
+         * Keeps the ring buffer full, reopening the file whenever it ends
+         */
+        @Override
+        public void run() {
+            byte[] bytes = new byte[4096];
+            try {
+                boolean readAnything = false;
+                while (!closed) {
+                    int space = ring.length - (int) (written - read);
+                    if (space < bytes.length / 2) {
+                        Thread.sleep(5);
+                        continue;
+                    }
+
+                    int count = in.read(bytes, 0, Math.min(bytes.length, space * 2) & ~3);
+                    if (count < 0) {
+                        in.close();
+                        if (!readAnything) {
+                            // An empty file would otherwise be reopened forever
+                            break;
+                        }
+                        readAnything = false;
+                        in = openStream(name);
+                        if (in == null) {
+                            break;
+                        }
+                        continue;
+                    }
+
+                    // Whole samples only; AudioInputStream reads whole frames
+                    long position = written;
+                    for (int i = 0; i + 1 < count; i += 2) {
+                        ring[(int) (position++ % ring.length)] = (short) ((bytes[i] & 0xFF) | (bytes[i + 1] << 8));
+                    }
+                    written = position;
+                    readAnything |= count > 0;
+                }
+            } catch (IOException e) {
+                System.out.println("Error streaming music " + name + ": " + e.getMessage());
+            } catch (InterruptedException e) {
+                // Stopped
+            } finally {
+                ended = true;
+                close();
+            }
+        }
+
+        @Override
+        public boolean mix(int[] mix) {
+            int count = (int) Math.min(mix.length, written - read);
+            float target = fadingOut ? 0 : MUSIC_GAIN;
+            float step = MUSIC_GAIN / FADE_FRAMES;
+
+            // The fade follows the clock even while the buffer runs dry
+            long position = read;
+            for (int i = 0; i < mix.length; i += 2) {
+                if (gain < target) {
+                    gain = Math.min(target, gain + step);
+                } else if (gain > target) {
+                    gain = Math.max(target, gain - step);
+                }
+                if (i < count) {
+                    mix[i] += (int) (ring[(int) (position++ % ring.length)] * gain);
+                    mix[i + 1] += (int) (ring[(int) (position++ % ring.length)] * gain);
+                }
+            }
+            read = position;
+
+            // Underruns just leave the rest of the block silent
+            if ((fadingOut && gain == 0) || (ended && written == read)) {
+                closed = true;
+                return false;
+            }
+            return true;
+        }
+    }
+}
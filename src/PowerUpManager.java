@@ -1,10 +1,6 @@
 import javax.swing.*;
 import java.awt.*;
 import java.util.Random;
-import javax.sound.sampled.*;
-import java.io.File;
-import java.io.IOException;
-import java.net.URL;
 
 public class PowerUpManager {
     private GameController gameController;
@@ -12,78 +8,24 @@ public class PowerUpManager {
     private boolean monstersFrozen = false;
     private Timer freezeTimer;
     private Timer resetStreakTimer; 
-    private JLabel streakLabel;
-    private JLabel powerUpNotification;
     
-    // Sound file paths with improved path resolution
-    private final String SKIP_SOUND = "src/assets/Sounds/Skip1.wav";
-    private final String KILL_ALL_SOUND = "src/assets/Sounds/Execution.wav";
-    private final String FREEZE_SOUND = "src/assets/Sounds/Freezing.wav";
+    // Power-up sounds, decoded once instead of on every power-up
+    private final Sound skipSound = SoundCache.get("Skip1.wav");
+    private final Sound killAllSound = SoundCache.get("Execution.wav");
+    private final Sound freezeSound = SoundCache.get("Freezing.wav");
+
+    private static final Color STREAK_CLOSE_COLOR = new Color(255, 165, 0); // Orange
 
     public PowerUpManager(GameController gameController) {
         this.gameController = gameController;
-        initializeUIComponents();
-    }
-
-    private void initializeUIComponents() {
-        // Label to show current streak
-        streakLabel = new JLabel("Perfect Streak: 0");
-        streakLabel.setForeground(Color.YELLOW);
-        streakLabel.setFont(new Font("Arial", Font.BOLD, 14));
-        
-        // Notification label for power-ups
-        powerUpNotification = new JLabel();
-        powerUpNotification.setForeground(Color.CYAN);
-        powerUpNotification.setFont(new Font("Arial", Font.BOLD, 16));
-        powerUpNotification.setHorizontalAlignment(SwingConstants.CENTER);
-        powerUpNotification.setVisible(false);
-        
-        // Add components to game panel if available
-        if (gameController.getGamePanel() != null) {
-            JPanel gamePanel = gameController.getGamePanel();
-            gamePanel.setLayout(new BorderLayout());
-            
-            JPanel topPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 20, 5));
-            topPanel.setOpaque(false);
-            topPanel.add(streakLabel);
-            
-            gamePanel.add(topPanel, BorderLayout.NORTH);
-            gamePanel.add(powerUpNotification, BorderLayout.SOUTH);
-        }
+        updateStreakDisplay();
     }
 
     /**
-     * Plays a sound file
-     * @param soundFilePath Path to the sound file
+     * Plays a power-up sound; it outranks shots and clicks when voices run out
      */
-    private void playSound(String soundFilePath) {
-        try {
-            File soundFile = new File(soundFilePath);
-            
-            // Check if file exists to avoid "path not found" errors
-            if (!soundFile.exists()) {
-                System.err.println("Sound file not found: " + soundFilePath);
-                // Try alternative path resolution using ClassLoader
-                URL resourceUrl = getClass().getClassLoader().getResource(soundFilePath.replace("src/", ""));
-                if (resourceUrl != null) {
-                    soundFile = new File(resourceUrl.getFile());
-                } else {
-                    // Try parent directory as a fallback
-                    soundFile = new File("../" + soundFilePath);
-                    if (!soundFile.exists()) {
-                        System.err.println("Could not find sound file using alternative paths");
-                        return;
-                    }
-                }
-            }
-            
-            AudioInputStream audioInputStream = AudioSystem.getAudioInputStream(soundFile);
-            Clip clip = AudioSystem.getClip();
-            clip.open(audioInputStream);
-            clip.start();
-        } catch (UnsupportedAudioFileException | IOException | LineUnavailableException e) {
-            System.err.println("Error playing sound effect: " + e.getMessage());
-        }
+    private void playSound(Sound sound) {
+        AudioEngine.play(sound, 1f, AudioEngine.PRIORITY_HIGH);
     }
 
     public void registerPerfectHit() {
@@ -103,16 +45,9 @@ public class PowerUpManager {
     }
 
     private void updateStreakDisplay() {
-        if (streakLabel != null) {
-            streakLabel.setText("Perfect Streak: " + perfectStreak + "/10");
-            
-            // Visual feedback when getting close to power-up
-            if (perfectStreak >= 8) {
-                streakLabel.setForeground(new Color(255, 165, 0)); // Orange
-            } else {
-                streakLabel.setForeground(Color.YELLOW);
-            }
-        }
+        // Visual feedback when getting close to power-up
+        Color color = (perfectStreak >= 8) ? STREAK_CLOSE_COLOR : Color.YELLOW;
+        gameController.getHud().setStreak("Perfect Streak: " + perfectStreak + "/10", color);
     }
 
     public void resetStreak() {
@@ -120,9 +55,7 @@ public class PowerUpManager {
             return;
         }
 
-        if (streakLabel != null) {
-            streakLabel.setForeground(Color.RED);
-        }
+        gameController.getHud().setStreakColor(Color.RED);
         
         resetStreakTimer = new Timer(1000, e -> {
             perfectStreak = 0;
@@ -154,7 +87,7 @@ public class PowerUpManager {
         showPowerUpNotification("Freeze Activated!", Color.CYAN);
         
         // Play freeze sound effect
-        playSound(FREEZE_SOUND);
+        playSound(freezeSound);
 
         if (freezeTimer != null && freezeTimer.isRunning()) {
             freezeTimer.stop();
@@ -193,7 +126,7 @@ public class PowerUpManager {
             showPowerUpNotification("Word Skipped!", Color.GREEN);
             
             // Play skip sound effect
-            playSound(SKIP_SOUND);
+            playSound(skipSound);
             
             // Flash effect for skip power-up
             if (gameController.getGamePanel() != null) {
@@ -208,7 +141,7 @@ public class PowerUpManager {
             }
         } else if (gameController.getMonsters().size() == 1) {
             showPowerUpNotification("No Other Words to Skip!", Color.YELLOW);
-            playSound(SKIP_SOUND);
+            playSound(skipSound);
         }
     }
     
@@ -217,10 +150,14 @@ public class PowerUpManager {
             int monsterCount = gameController.getMonsters().size();
             
             // Play kill all monsters sound effect
-            playSound(KILL_ALL_SOUND);
+            playSound(killAllSound);
             
+            JPanel panel = gameController.getGamePanel();
             for (int i = monsterCount - 1; i >= 0; i--) {
                 Monster monster = gameController.getMonsters().get(i);
+                if (panel instanceof GamePanel) {
+                    ((GamePanel) panel).addExplosion(monster);
+                }
                 gameController.removeMonster(monster);
                 gameController.increaseScore();
             }
@@ -228,8 +165,7 @@ public class PowerUpManager {
             showPowerUpNotification("All Monsters Defeated!", Color.RED);
             
             // Flash effect for kill all monsters power-up
-            if (gameController.getGamePanel() != null) {
-                JPanel panel = gameController.getGamePanel();
+            if (panel != null) {
                 Color original = panel.getBackground();
                 panel.setBackground(new Color(255, 150, 150)); // Light red
                 Timer restoreTimer = new Timer(500, e -> {
@@ -242,33 +178,7 @@ public class PowerUpManager {
     }
 
     private void showPowerUpNotification(String message, Color color) {
-        if (powerUpNotification != null) {
-            powerUpNotification.setText(message);
-            powerUpNotification.setForeground(color);
-            powerUpNotification.setVisible(!message.isEmpty());
-            
-            if (!message.isEmpty()) {
-                // Auto-hide notification after 2 seconds
-                Timer hideTimer = new Timer(2000, e -> {
-                    powerUpNotification.setVisible(false);
-                });
-                hideTimer.setRepeats(false);
-                hideTimer.start();
-            }
-        }
-    }
-
-    // Call this when the game panel is available
-    public void setGamePanel(JPanel gamePanel) {
-        if (gamePanel != null) {
-            gamePanel.setLayout(new BorderLayout());
-            
-            JPanel topPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 20, 5));
-            topPanel.setOpaque(false);
-            topPanel.add(streakLabel);
-            
-            gamePanel.add(topPanel, BorderLayout.NORTH);
-            gamePanel.add(powerUpNotification, BorderLayout.SOUTH);
-        }
+        // The HUD hides the notification again after 2 seconds
+        gameController.getHud().showNotification(message, color);
     }
-}
\ No newline at end of file
+}
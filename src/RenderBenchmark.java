@@ -0,0 +1,226 @@
+import java.awt.Graphics2D;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Renders canned scenes off-screen through GamePanel.renderScene, the same
+ * code paintComponent uses, and prints frames per second and the time spent
+ * in each phase of the frame. Needs no display, so rendering changes can be
+ * compared on a build machine:
+ *
+ *   java -Djava.awt.headless=true -cp bin RenderBenchmark [--frames N] [--warmup N]
+ *       [--size WxH] [--quality 0-4] [--parallel-layers]
+ */
+public class RenderBenchmark {
+    // Fixed seed so every run draws the same monsters in the same places
+    private static final long SEED = 42;
+
+    private static int frames = 300;
+    private static int warmupFrames = 60;
+    private static int width = Constants.WIDTH;
+    private static int height = Constants.HEIGHT;
+
+    private final GameController gameController;
+    private final GamePanel gamePanel;
+    private final BufferedImage target;
+    private final FrameTimings timings = new FrameTimings();
+
+    // Per-frame action of the scene being measured, e.g. spawning explosions
+    private interface SceneAction {
+        void run(int frame);
+    }
+
+    private RenderBenchmark() {
+        gameController = new GameController();
+        gamePanel = new GamePanel(gameController);
+        gamePanel.setSize(width, height);
+        target = ImageUtils.createCompatibleImage(width, height, Transparency.OPAQUE);
+        gamePanel.setFrameTimings(timings);
+    }
+
+    public static void main(String[] args) {
+        RenderQuality.setFixedTier(RenderQuality.TIER_FULL);
+
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.equals("--frames") && i + 1 < args.length) {
+                frames = parseCount(args[++i], frames);
+            } else if (arg.equals("--warmup") && i + 1 < args.length) {
+                warmupFrames = parseCount(args[++i], warmupFrames);
+            } else if (arg.equals("--size") && i + 1 < args.length) {
+                parseSize(args[++i]);
+            } else if (arg.equals("--parallel-layers")) {
+                Constants.parallelLayerRendering = true;
+            } else if (arg.equals("--quality") && i + 1 < args.length) {
+                String value = args[++i];
+                try {
+                    RenderQuality.setFixedTier(Integer.parseInt(value));
+                } catch (NumberFormatException e) {
+                    System.out.println("Ignoring invalid --quality value: " + value);
+                }
+            }
+        }
+
+        // Monsters stay where they are placed; only animations advance
+        Constants.currentMonsterSpeed = 0;
+        Constants.RANDOM.setSeed(SEED);
+
+        RenderBenchmark benchmark = new RenderBenchmark();
+        System.out.println("Rendering " + width + "x" + height + ", quality tier " + RenderQuality.getTier()
+            + (Constants.parallelLayerRendering ? ", parallel layers" : "")
+            + ", " + frames + " frames per scene after " + warmupFrames + " warm-up frames");
+        benchmark.printHeader();
+
+        benchmark.runScene("clouds only", 0, null);
+        benchmark.runScene("10 monsters", 10, null);
+        benchmark.runScene("100 monsters", 100, null);
+        benchmark.runScene("1000 monsters", 1000, null);
+        benchmark.runScene("100 + explosions", 100, benchmark::explodeMonsters);
+        benchmark.runBossSplit();
+
+        benchmark.gamePanel.cleanup();
+        System.exit(0);
+    }
+
+    /**
+     * Fills the screen with count monsters of mixed types and measures rendering it
+     */
+    private void runScene(String name, int count, SceneAction action) {
+        clearMonsters();
+        for (int i = 0; i < count; i++) {
+            gameController.addMonster(createMonster());
+        }
+        measure(name, action);
+    }
+
+    /**
+     * A boss that has just split, with its children around it, being hit repeatedly
+     */
+    private void runBossSplit() {
+        clearMonsters();
+        Monster boss;
+        do {
+            boss = createMonster();
+        } while (!boss.canSplit());
+
+        boss.decreaseHealth();
+        gameController.addMonster(boss);
+        for (Monster child : boss.split()) {
+            gameController.addMonster(child);
+        }
+        for (int i = 0; i < 20; i++) {
+            gameController.addMonster(createMonster());
+        }
+
+        final Monster splitBoss = boss;
+        measure("boss split", frame -> {
+            if (frame % 20 == 0) {
+                splitBoss.hit();
+                gamePanel.addExplosion(splitBoss);
+            }
+        });
+    }
+
+    /**
+     * Starts an explosion on a different monster every few frames
+     */
+    private void explodeMonsters(int frame) {
+        List<Monster> monsters = gameController.getMonsters();
+        if (frame % 3 == 0 && !monsters.isEmpty()) {
+            Monster monster = monsters.get((frame / 3) % monsters.size());
+            monster.hit();
+            gamePanel.addExplosion(monster);
+        }
+    }
+
+    private void measure(String name, SceneAction action) {
+        for (int i = 0; i < warmupFrames; i++) {
+            renderFrame(i, action);
+        }
+
+        timings.reset();
+        long start = System.nanoTime();
+        for (int i = 0; i < frames; i++) {
+            renderFrame(warmupFrames + i, action);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        printRow(name, elapsed);
+    }
+
+    private void renderFrame(int frame, SceneAction action) {
+        GameClock.tick();
+        if (action != null) {
+            action.run(frame);
+        }
+        // Counts down hit flashes; monsters do not move at speed 0
+        for (Monster monster : gameController.getMonsters()) {
+            monster.update(width);
+        }
+
+        Graphics2D g = target.createGraphics();
+        try {
+            gamePanel.renderScene(g, width, height);
+        } finally {
+            g.dispose();
+        }
+    }
+
+    private Monster createMonster() {
+        String[] words = Constants.DIFFICULTY_WORDS.get(Constants.DIFFICULTY_EASY);
+        String word = words[Constants.RANDOM.nextInt(words.length)];
+        // Keep clear of the base and the HUD rows so every monster is on screen
+        int x = 80 + Constants.RANDOM.nextInt(Constants.WIDTH - 160);
+        int y = 60 + Constants.RANDOM.nextInt(Constants.HEIGHT - 200);
+        return new Monster(x, y, word);
+    }
+
+    private void clearMonsters() {
+        for (Monster monster : new ArrayList<>(gameController.getMonsters())) {
+            gameController.removeMonster(monster);
+        }
+    }
+
+    private void printHeader() {
+        StringBuilder header = new StringBuilder(String.format("%-18s %8s %9s", "scene", "fps", "ms/frame"));
+        for (int phase = 0; phase < FrameTimings.getPhaseCount(); phase++) {
+            header.append(String.format(" %10s", FrameTimings.getPhaseName(phase)));
+        }
+        System.out.println(header);
+    }
+
+    private void printRow(String name, long elapsedNanos) {
+        double millisPerFrame = elapsedNanos / 1_000_000.0 / frames;
+        StringBuilder row = new StringBuilder(String.format("%-18s %8.1f %9.3f",
+            name, 1000.0 / millisPerFrame, millisPerFrame));
+        for (int phase = 0; phase < FrameTimings.getPhaseCount(); phase++) {
+            row.append(String.format(" %10.3f", timings.getAverageMillis(phase)));
+        }
+        System.out.println(row);
+    }
+
+    private static int parseCount(String value, int fallback) {
+        try {
+            return Math.max(1, Integer.parseInt(value));
+        } catch (NumberFormatException e) {
+            System.out.println("Ignoring invalid count: " + value);
+            return fallback;
+        }
+    }
+
+    private static void parseSize(String value) {
+        String[] parts = value.toLowerCase().split("x");
+        try {
+            if (parts.length == 2) {
+                width = Math.max(1, Integer.parseInt(parts[0].trim()));
+                height = Math.max(1, Integer.parseInt(parts[1].trim()));
+                return;
+            }
+        } catch (NumberFormatException e) {
+            // Fall through to the warning below
+        }
+        System.out.println("Ignoring invalid --size value: " + value);
+    }
+}
@@ -0,0 +1,136 @@
+/**
+ * Picks how much rendering work each frame may do, based on how long
+ * recent frames took. Each tier drops one more kind of work on top of the
+ * tiers before it:
+ * 1 hides the cloud overlay, 2 switches scaling to nearest neighbour,
+ * 3 plays explosions with half the frames and turns off hit shakes,
+ * 4 draws labels without antialiasing and freezes sprite animation.
+ * The governor steps down quickly when frames run over budget and steps
+ * back up only after a long stretch of comfortable frames, so it does not
+ * flicker between tiers.
+ */
+public class RenderQuality {
+    public static final int TIER_FULL = 0;
+    public static final int TIER_NO_CLOUDS = 1;
+    public static final int TIER_FAST_SCALING = 2;
+    public static final int TIER_REDUCED_EFFECTS = 3;
+    public static final int TIER_MINIMAL = 4;
+
+    // Frame work (update + render + present) as a fraction of the frame period
+    private static final double DEGRADE_LOAD = 0.9;
+    private static final double IMPROVE_LOAD = 0.5;
+
+    // Frames the load must stay past a threshold before the tier changes
+    private static final int DEGRADE_FRAMES = 30;
+    private static final int IMPROVE_FRAMES = 180;
+    // Frames to wait after a change so the average can settle
+    private static final int SETTLE_FRAMES = 60;
+
+    private static final double SMOOTHING = 0.05;
+    private static final long FRAME_NANOS = 1_000_000_000L / Constants.TARGET_FPS;
+    // Longer frames count as this many frame periods, so one stall (a modal
+    // dialog, a GC pause) cannot drag the average over budget on its own
+    private static final int MAX_SAMPLE_FRAMES = 3;
+
+    private static volatile int tier = TIER_FULL;
+    private static volatile boolean adaptive = true;
+
+    private static double averageNanos = 0;
+    private static int overBudgetFrames = 0;
+    private static int underBudgetFrames = 0;
+    private static int settleFrames = 0;
+
+    private RenderQuality() {
+    }
+
+    /**
+     * Feeds the time one frame's work took; called once per frame by the game loop
+     */
+    public static void recordFrame(long frameNanos) {
+        frameNanos = Math.min(frameNanos, FRAME_NANOS * MAX_SAMPLE_FRAMES);
+        averageNanos = (averageNanos == 0)
+            ? frameNanos
+            : averageNanos + SMOOTHING * (frameNanos - averageNanos);
+
+        if (!adaptive) {
+            return;
+        }
+        if (settleFrames > 0) {
+            settleFrames--;
+            return;
+        }
+
+        double load = averageNanos / FRAME_NANOS;
+        overBudgetFrames = (load > DEGRADE_LOAD) ? overBudgetFrames + 1 : 0;
+        underBudgetFrames = (load < IMPROVE_LOAD) ? underBudgetFrames + 1 : 0;
+
+        if (overBudgetFrames >= DEGRADE_FRAMES && tier < TIER_MINIMAL) {
+            changeTier(tier + 1);
+        } else if (underBudgetFrames >= IMPROVE_FRAMES && tier > TIER_FULL) {
+            changeTier(tier - 1);
+        }
+    }
+
+    private static void changeTier(int newTier) {
+        tier = newTier;
+        overBudgetFrames = 0;
+        underBudgetFrames = 0;
+        settleFrames = SETTLE_FRAMES;
+        System.out.println("Render quality tier: " + newTier);
+    }
+
+    /**
+     * Forgets recent frame times, keeping the current tier; called whenever
+     * the game loop starts or resumes so time spent outside the loop is not
+     * held against the next frames
+     */
+    public static void resetHistory() {
+        averageNanos = 0;
+        overBudgetFrames = 0;
+        underBudgetFrames = 0;
+        settleFrames = SETTLE_FRAMES;
+    }
+
+    /**
+     * Locks the given tier and stops adapting
+     */
+    public static void setFixedTier(int fixedTier) {
+        tier = Math.max(TIER_FULL, Math.min(TIER_MINIMAL, fixedTier));
+        adaptive = false;
+    }
+
+    public static void setAdaptive(boolean enabled) {
+        adaptive = enabled;
+    }
+
+    public static int getTier() {
+        return tier;
+    }
+
+    /**
+     * @return Smoothed time of recent frames in milliseconds
+     */
+    public static double getAverageFrameMillis() {
+        return averageNanos / 1_000_000.0;
+    }
+
+    public static boolean showClouds() {
+        return tier < TIER_NO_CLOUDS;
+    }
+
+    public static boolean useSmoothScaling() {
+        return tier < TIER_FAST_SCALING;
+    }
+
+    public static boolean reducedEffects() {
+        return tier >= TIER_REDUCED_EFFECTS;
+    }
+
+    public static boolean antialiasText() {
+        return tier < TIER_MINIMAL;
+    }
+
+    public static boolean animateSprites() {
+        return tier < TIER_MINIMAL;
+    }
+}
@@ -0,0 +1,187 @@
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Pre-rotated copies of images in fixed angle buckets, so a sprite that
+ * turns toward its target is drawn as a plain blit instead of through a
+ * rotated, interpolated transform.
+ * Each copy is rendered lazily on first use onto a canvas just large
+ * enough for the rotated bounds, and the cache drops least recently used
+ * copies once their pixels exceed the byte budget.
+ */
+public class RotationCache {
+    public static final int BUCKET_DEGREES = 2;
+    private static final int BUCKETS = 360 / BUCKET_DEGREES;
+
+    private final long maxBytes;
+    private final LinkedHashMap<Key, Rotated> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final Key probe = new Key();
+    private long totalBytes = 0;
+
+    public RotationCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Draws the image as if the graphics were translated to (pivotX, pivotY),
+     * rotated by angle and the image drawn at (offsetX, offsetY).
+     * The angle is snapped to the nearest bucket.
+     */
+    public void draw(Graphics2D g, BufferedImage image, int offsetX, int offsetY,
+                     int pivotX, int pivotY, double angle) {
+        Rotated rotated = get(image, offsetX, offsetY, bucketOf(angle));
+        g.drawImage(rotated.image, pivotX + rotated.x, pivotY + rotated.y, null);
+    }
+
+    /**
+     * Stores in out the screen area draw would cover for the same arguments
+     */
+    public static void getBounds(int width, int height, int offsetX, int offsetY,
+                                 int pivotX, int pivotY, double angle, Rectangle out) {
+        rotatedBounds(width, height, offsetX, offsetY, Math.toRadians(bucketOf(angle) * BUCKET_DEGREES), out);
+        out.translate(pivotX, pivotY);
+    }
+
+    private static int bucketOf(double angle) {
+        int bucket = (int) Math.round(Math.toDegrees(angle) / BUCKET_DEGREES);
+        return Math.floorMod(bucket, BUCKETS);
+    }
+
+    private synchronized Rotated get(BufferedImage image, int offsetX, int offsetY, int bucket) {
+        probe.set(image, offsetX, offsetY, bucket);
+        Rotated rotated = entries.get(probe);
+        if (rotated != null) {
+            return rotated;
+        }
+
+        rotated = render(image, offsetX, offsetY, Math.toRadians(bucket * BUCKET_DEGREES));
+        Key key = new Key();
+        key.set(image, offsetX, offsetY, bucket);
+        entries.put(key, rotated);
+        totalBytes += rotated.bytes;
+
+        Iterator<Map.Entry<Key, Rotated>> it = entries.entrySet().iterator();
+        // Always keep the newest entry, even if it alone is over budget
+        while (totalBytes > maxBytes && entries.size() > 1 && it.hasNext()) {
+            Rotated eldest = it.next().getValue();
+            it.remove();
+            totalBytes -= eldest.bytes;
+            eldest.image.flush();
+        }
+        return rotated;
+    }
+
+    /**
+     * Bounds, relative to the pivot, of a width x height box at (offsetX, offsetY) rotated about the pivot
+     */
+    private static void rotatedBounds(int width, int height, int offsetX, int offsetY, double angle, Rectangle out) {
+        double cos = Math.cos(angle);
+        double sin = Math.sin(angle);
+        double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE;
+        double maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+        for (int corner = 0; corner < 4; corner++) {
+            double cornerX = offsetX + ((corner & 1) == 0 ? 0 : width);
+            double cornerY = offsetY + ((corner & 2) == 0 ? 0 : height);
+            double x = cornerX * cos - cornerY * sin;
+            double y = cornerX * sin + cornerY * cos;
+            minX = Math.min(minX, x);
+            minY = Math.min(minY, y);
+            maxX = Math.max(maxX, x);
+            maxY = Math.max(maxY, y);
+        }
+        int left = (int) Math.floor(minX);
+        int top = (int) Math.floor(minY);
+        out.setBounds(left, top, (int) Math.ceil(maxX) - left, (int) Math.ceil(maxY) - top);
+    }
+
+    private static Rotated render(BufferedImage image, int offsetX, int offsetY, double angle) {
+        Rectangle bounds = new Rectangle();
+        rotatedBounds(image.getWidth(), image.getHeight(), offsetX, offsetY, angle, bounds);
+        int left = bounds.x;
+        int top = bounds.y;
+        int width = bounds.width;
+        int height = bounds.height;
+
+        BufferedImage canvas = ImageUtils.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+        Graphics2D g = canvas.createGraphics();
+        g.setComposite(AlphaComposite.Clear);
+        g.fillRect(0, 0, width, height);
+        g.setComposite(AlphaComposite.SrcOver);
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g.translate(-left, -top);
+        g.rotate(angle);
+        g.drawImage(image, offsetX, offsetY, null);
+        g.dispose();
+
+        return new Rotated(canvas, left, top, (long) canvas.getWidth() * canvas.getHeight() * 4);
+    }
+
+    public synchronized void clear() {
+        for (Rotated rotated : entries.values()) {
+            rotated.image.flush();
+        }
+        entries.clear();
+        totalBytes = 0;
+    }
+
+    private static class Rotated {
+        private final BufferedImage image;
+        // Top-left corner of the canvas relative to the pivot
+        private final int x;
+        private final int y;
+        private final long bytes;
+
+        Rotated(BufferedImage image, int x, int y, long bytes) {
+            this.image = image;
+            this.x = x;
+            this.y = y;
+            this.bytes = bytes;
+        }
+    }
+
+    /**
+     * Images are compared by identity: a rescaled frame is a new image and gets new entries.
+     * Mutable so one instance can be reused for lookups.
+     */
+    private static class Key {
+        private BufferedImage image;
+        private int offsetX;
+        private int offsetY;
+        private int bucket;
+
+        void set(BufferedImage image, int offsetX, int offsetY, int bucket) {
+            this.image = image;
+            this.offsetX = offsetX;
+            this.offsetY = offsetY;
+            this.bucket = bucket;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return image == other.image
+                && offsetX == other.offsetX
+                && offsetY == other.offsetY
+                && bucket == other.bucket;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = System.identityHashCode(image);
+            hash = 31 * hash + offsetX;
+            hash = 31 * hash + offsetY;
+            return 31 * hash + bucket;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+/**
+ * A sound effect decoded once into AudioEngine's mix format, see SoundCache.
+ * The samples are never changed, so any number of voices can play the same
+ * Sound at once without copying it.
+ */
+public class Sound {
+    private final String name;
+    // Interleaved left/right samples at AudioEngine.FORMAT's rate
+    private final short[] samples;
+
+    // When a voice last started playing this sound, guarded by AudioEngine;
+    // starts well in the past so the first play is never rate limited
+    long lastStartNanos = System.nanoTime() - 1_000_000_000L;
+
+    Sound(String name, short[] samples) {
+        this.name = name;
+        this.samples = samples;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return Length in frames (one left and one right sample)
+     */
+    public int getFrames() {
+        return samples.length / 2;
+    }
+
+    short[] getSamples() {
+        return samples;
+    }
+}
@@ -0,0 +1,141 @@
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+
+/**
+ * Every sound effect of the game, decoded once and shared.
+ * Sounds are looked up by file name in assets/Sounds on the classpath (so
+ * they load from a jar too), falling back to src/assets/Sounds when the game
+ * runs from the repository. Each file is decoded and resampled to
+ * AudioEngine.FORMAT the first time it is asked for; later lookups, from
+ * any screen, return the same Sound.
+ */
+public class SoundCache {
+    private static final String RESOURCE_FOLDER = "/assets/Sounds/";
+    private static final String FILE_FOLDER = "src/assets/Sounds/";
+
+    // One load per name, so different sounds can decode in parallel (see AssetPreloader)
+    // while a second request for the same one waits for the first; missing sounds
+    // load as null and are only reported once
+    private static final Map<String, FutureTask<Sound>> sounds = new HashMap<>();
+
+    /**
+     * @param name File name in assets/Sounds, e.g. "GunSound.wav"
+     * @return The decoded sound, or null if it is missing or cannot be decoded
+     */
+    public static Sound get(String name) {
+        FutureTask<Sound> task;
+        boolean loadHere = false;
+        synchronized (sounds) {
+            task = sounds.get(name);
+            if (task == null) {
+                task = new FutureTask<>(() -> load(name));
+                sounds.put(name, task);
+                loadHere = true;
+            }
+        }
+        if (loadHere) {
+            task.run();
+        }
+
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            System.out.println("Error loading sound " + name + ": " + e.getCause());
+            return null;
+        }
+    }
+
+    private static Sound load(String name) {
+        try (AudioInputStream source = open(name)) {
+            if (source == null) {
+                System.out.println("Sound file not found: " + name);
+                return null;
+            }
+            return new Sound(name, decode(source));
+        } catch (UnsupportedAudioFileException | IOException | IllegalArgumentException e) {
+            System.out.println("Error loading sound " + name + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Opens a file in assets/Sounds for reading, the same way sounds are found;
+     * MusicPlayer streams its tracks through this
+     * @return The stream, or null if there is no such file
+     */
+    static AudioInputStream open(String name) throws UnsupportedAudioFileException, IOException {
+        InputStream resource = SoundCache.class.getResourceAsStream(RESOURCE_FOLDER + name);
+        if (resource != null) {
+            // Reading the WAV header needs mark/reset
+            return AudioSystem.getAudioInputStream(new BufferedInputStream(resource));
+        }
+        File file = new File(FILE_FOLDER + name);
+        return file.exists() ? AudioSystem.getAudioInputStream(file) : null;
+    }
+
+    /**
+     * Decodes to interleaved stereo 16-bit samples at the mix rate
+     */
+    private static short[] decode(AudioInputStream source) throws IOException {
+        AudioFormat format = source.getFormat();
+        int channels = format.getChannels();
+        float sampleRate = format.getSampleRate();
+
+        // Anything else (8-bit, big-endian, u-law...) becomes 16-bit little-endian PCM at its own rate
+        AudioFormat pcm = new AudioFormat(sampleRate, 16, channels, true, false);
+        AudioInputStream in = format.matches(pcm) ? source : AudioSystem.getAudioInputStream(pcm, source);
+        byte[] data = in.readAllBytes();
+
+        int frames = data.length / (2 * channels);
+        short[] stereo = new short[frames * 2];
+        for (int frame = 0; frame < frames; frame++) {
+            int offset = frame * 2 * channels;
+            short left = (short) ((data[offset] & 0xFF) | (data[offset + 1] << 8));
+            // Mono is played on both sides; channels past the second are dropped
+            short right = channels == 1 ? left : (short) ((data[offset + 2] & 0xFF) | (data[offset + 3] << 8));
+            stereo[2 * frame] = left;
+            stereo[2 * frame + 1] = right;
+        }
+
+        float mixRate = AudioEngine.FORMAT.getSampleRate();
+        return sampleRate == mixRate ? stereo : resample(stereo, sampleRate / mixRate);
+    }
+
+    /**
+     * Linear interpolation resampling, done once at load so mixing never has to
+     * @param step Source frames per output frame
+     */
+    private static short[] resample(short[] stereo, double step) {
+        int sourceFrames = stereo.length / 2;
+        if (sourceFrames == 0) {
+            return stereo;
+        }
+        int frames = (int) ((sourceFrames - 1) / step) + 1;
+        short[] out = new short[frames * 2];
+        for (int frame = 0; frame < frames; frame++) {
+            double position = frame * step;
+            int index = (int) position;
+            int next = Math.min(index + 1, sourceFrames - 1);
+            double fraction = position - index;
+            for (int channel = 0; channel < 2; channel++) {
+                int a = stereo[2 * index + channel];
+                int b = stereo[2 * next + channel];
+                out[2 * frame + channel] = (short) Math.round(a + (b - a) * fraction);
+            }
+        }
+        return out;
+    }
+}
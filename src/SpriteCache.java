@@ -0,0 +1,98 @@
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sprites pre-scaled to their on-screen size and pre-flipped, so drawing a
+ * monster is a 1:1 blit instead of a scaled, transformed one.
+ * Entries are keyed by source image, pixel size and orientation, and the
+ * whole cache is dropped when the panel scale changes.
+ * Frames of an animated sprite are scaled lazily, the first time each one
+ * is shown at a given size.
+ */
+public class SpriteCache {
+    private static final Map<AnimatedSprite, List<Entry>> ENTRIES = new IdentityHashMap<>();
+    private static double panelScale = -1;
+
+    private SpriteCache() {
+    }
+
+    /**
+     * Drops all cached sprites if the panel scale changed since the last call.
+     * Called once per frame before any monster is drawn.
+     */
+    public static synchronized void setPanelScale(double scale) {
+        if (scale == panelScale) {
+            return;
+        }
+        panelScale = scale;
+        ENTRIES.clear();
+    }
+
+    /**
+     * Returns one frame of the sprite scaled to size x size pixels, mirrored horizontally if flipped
+     */
+    public static synchronized BufferedImage get(AnimatedSprite source, int frame, int size, boolean flipped) {
+        size = Math.max(1, size);
+
+        List<Entry> entries = ENTRIES.get(source);
+        if (entries == null) {
+            entries = new ArrayList<>(2);
+            ENTRIES.put(source, entries);
+        }
+
+        Entry entry = null;
+        for (int i = 0; i < entries.size(); i++) {
+            Entry candidate = entries.get(i);
+            if (candidate.size == size && candidate.flipped == flipped) {
+                entry = candidate;
+                break;
+            }
+        }
+        if (entry == null) {
+            entry = new Entry(source, size, flipped);
+            entries.add(entry);
+        }
+
+        BufferedImage sprite = entry.frames[frame];
+        if (sprite == null) {
+            sprite = entry.render(frame);
+            entry.frames[frame] = sprite;
+        }
+        return sprite;
+    }
+
+    private static class Entry {
+        private final AnimatedSprite source;
+        private final int size;
+        private final boolean flipped;
+        private final BufferedImage[] frames;
+
+        Entry(AnimatedSprite source, int size, boolean flipped) {
+            this.source = source;
+            this.size = size;
+            this.flipped = flipped;
+            this.frames = new BufferedImage[source.getFrameCount()];
+        }
+
+        BufferedImage render(int frame) {
+            BufferedImage sprite = ImageUtils.createCompatibleImage(size, size, Transparency.TRANSLUCENT);
+            Graphics2D g = sprite.createGraphics();
+            g.setComposite(AlphaComposite.Src);
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            if (flipped) {
+                g.translate(size, 0);
+                g.scale(-1, 1);
+            }
+            source.drawFrame(g, frame, 0, 0, size, size);
+            g.dispose();
+            return sprite;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Picks words in O(1) with probability proportional to a per-word weight.
+ * The weight is the word's base (frequency) weight scaled up by the
+ * player's current letter weaknesses. When LetterWeakness changes the
+ * alias table is rebuilt on a background thread and swapped in; sampling
+ * keeps using the previous table until then and never allocates.
+ */
+public class WeightedWordSampler {
+    // How strongly a weak letter pulls its words forward
+    private static final double WEAKNESS_BOOST = 0.5;
+
+    // Shared by all samplers, rebuilds are short and rare
+    private static final ExecutorService REBUILD_EXECUTOR = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "word-sampler-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final String[] words;
+    private final double[] baseWeights;
+    private volatile AliasTable table;
+    private volatile int builtVersion;
+    private final AtomicBoolean rebuildPending = new AtomicBoolean(false);
+
+    public WeightedWordSampler(String[] words) {
+        this(words, null);
+    }
+
+    /**
+     * @param words The words to sample from
+     * @param frequencyWeights Base weight per word (e.g. word frequency), or null for equal weights
+     */
+    public WeightedWordSampler(String[] words, double[] frequencyWeights) {
+        this.words = words.clone();
+        this.baseWeights = new double[words.length];
+        for (int i = 0; i < words.length; i++) {
+            baseWeights[i] = (frequencyWeights != null && i < frequencyWeights.length) ? frequencyWeights[i] : 1.0;
+        }
+
+        // First table is built synchronously so the sampler is usable right away
+        int version = LetterWeakness.version();
+        table = buildTable();
+        builtVersion = version;
+    }
+
+    /**
+     * Returns a random word, or null if the sampler is empty
+     */
+    public String next() {
+        if (words.length == 0) {
+            return null;
+        }
+
+        if (builtVersion != LetterWeakness.version()) {
+            scheduleRebuild();
+        }
+        return words[table.sample(Constants.RANDOM)];
+    }
+
+    public int size() {
+        return words.length;
+    }
+
+    private void scheduleRebuild() {
+        if (!rebuildPending.compareAndSet(false, true)) {
+            return;
+        }
+        REBUILD_EXECUTOR.execute(() -> {
+            try {
+                int version = LetterWeakness.version();
+                table = buildTable();
+                builtVersion = version;
+            } finally {
+                rebuildPending.set(false);
+            }
+        });
+    }
+
+    private AliasTable buildTable() {
+        float[] weakness = new float[26];
+        LetterWeakness.copyTo(weakness);
+
+        double[] weights = new double[words.length];
+        for (int i = 0; i < words.length; i++) {
+            String word = words[i];
+            double letterSum = 0;
+            for (int c = 0; c < word.length(); c++) {
+                int letter = LetterWeakness.letterIndex(word.charAt(c));
+                if (letter >= 0) {
+                    letterSum += weakness[letter];
+                }
+            }
+            weights[i] = baseWeights[i] * (1.0 + WEAKNESS_BOOST * letterSum);
+        }
+        return new AliasTable(weights);
+    }
+}
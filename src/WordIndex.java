@@ -0,0 +1,388 @@
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Inverted index from letters and bigrams to bitsets of word ids.
+ * Word ids are assigned in order of word length, so a length range is a
+ * contiguous id range and never needs its own posting list.
+ * Postings are stored dense (long[] bitset) when common and as sorted id
+ * arrays when rare, which keeps the many mostly-empty bigram lists small.
+ * Not thread safe: queries reuse internal scratch bitsets.
+ */
+public class WordIndex {
+    private static final int ALPHABET = 26;
+    private static final int BIGRAMS = ALPHABET * ALPHABET;
+
+    // A posting is stored as a sorted id array when it holds fewer ids than this fraction of the words
+    private static final int SPARSE_DIVISOR = 64;
+
+    private final String[] words;
+
+    // Dense postings (null when the key is stored sparse or never occurs)
+    private final long[][] letterBits = new long[ALPHABET][];
+    private final long[][] bigramBits = new long[BIGRAMS][];
+
+    // Sparse postings (null when the key is stored dense)
+    private final int[][] letterIds = new int[ALPHABET][];
+    private final int[][] bigramIds = new int[BIGRAMS][];
+
+    // firstIdOfLength[len] = first id whose word is at least len characters long
+    private final int[] firstIdOfLength;
+
+    // Word ids bucketed by first letter, for picks that must avoid letters already in use
+    private final int[][] firstLetterIds = new int[ALPHABET][];
+
+    private final long[] scratch;
+    private final long[] scratchSwap;
+
+    // Output of the last evaluate() call; points at one of the scratch arrays
+    private long[] result;
+    private int resultFirstBlock;
+    private int resultLastBlock;
+
+    public WordIndex(String[] sourceWords) {
+        words = sourceWords.clone();
+        Arrays.sort(words, (a, b) -> a.length() != b.length() ? a.length() - b.length() : a.compareTo(b));
+
+        int maxLength = words.length == 0 ? 0 : words[words.length - 1].length();
+        firstIdOfLength = new int[maxLength + 2];
+        int id = 0;
+        for (int len = 0; len <= maxLength + 1; len++) {
+            while (id < words.length && words[id].length() < len) {
+                id++;
+            }
+            firstIdOfLength[len] = id;
+        }
+
+        int blockCount = (words.length + 63) >>> 6;
+        scratch = new long[blockCount];
+        scratchSwap = new long[blockCount];
+
+        // Build everything dense first, then compress the rare keys
+        long[][] letters = new long[ALPHABET][blockCount];
+        long[][] bigrams = new long[BIGRAMS][];
+        for (int w = 0; w < words.length; w++) {
+            String word = words[w];
+            int previous = -1;
+            for (int i = 0; i < word.length(); i++) {
+                int letter = letterIndex(word.charAt(i));
+                if (letter < 0) {
+                    previous = -1;
+                    continue;
+                }
+                setBit(letters[letter], w);
+                if (previous >= 0) {
+                    int bigram = previous * ALPHABET + letter;
+                    if (bigrams[bigram] == null) {
+                        bigrams[bigram] = new long[blockCount];
+                    }
+                    setBit(bigrams[bigram], w);
+                }
+                previous = letter;
+            }
+        }
+
+        for (int i = 0; i < ALPHABET; i++) {
+            store(letters[i], letterBits, letterIds, i);
+        }
+
+        int[] bucketSizes = new int[ALPHABET];
+        for (String word : words) {
+            int first = word.isEmpty() ? -1 : letterIndex(word.charAt(0));
+            if (first >= 0) {
+                bucketSizes[first]++;
+            }
+        }
+        for (int i = 0; i < ALPHABET; i++) {
+            firstLetterIds[i] = new int[bucketSizes[i]];
+            bucketSizes[i] = 0;
+        }
+        for (int w = 0; w < words.length; w++) {
+            int first = words[w].isEmpty() ? -1 : letterIndex(words[w].charAt(0));
+            if (first >= 0) {
+                firstLetterIds[first][bucketSizes[first]++] = w;
+            }
+        }
+        for (int i = 0; i < BIGRAMS; i++) {
+            if (bigrams[i] != null) {
+                store(bigrams[i], bigramBits, bigramIds, i);
+            } else {
+                bigramIds[i] = new int[0];
+            }
+        }
+    }
+
+    private void store(long[] bits, long[][] denseTable, int[][] sparseTable, int key) {
+        int count = 0;
+        for (long block : bits) {
+            count += Long.bitCount(block);
+        }
+
+        if (count * SPARSE_DIVISOR >= words.length) {
+            denseTable[key] = bits;
+            return;
+        }
+
+        int[] ids = new int[count];
+        int n = 0;
+        for (int b = 0; b < bits.length; b++) {
+            long block = bits[b];
+            while (block != 0) {
+                ids[n++] = (b << 6) + Long.numberOfTrailingZeros(block);
+                block &= block - 1;
+            }
+        }
+        sparseTable[key] = ids;
+    }
+
+    /**
+     * Picks a random word matching the query
+     * @return the word, or null when nothing in the dictionary matches
+     */
+    public String pick(Query query, Random random) {
+        return pick(query, 0, random);
+    }
+
+    /**
+     * Picks a random word matching the query whose first letter is not in the excluded set
+     * @param excludedFirstLetters Bit mask of first letters to avoid ('a' = bit 0)
+     * @return the word, or null when nothing in the dictionary matches
+     */
+    public String pick(Query query, int excludedFirstLetters, Random random) {
+        int count = evaluate(query, excludedFirstLetters);
+        if (count == 0) {
+            return null;
+        }
+
+        // Select the k-th set bit
+        int k = random.nextInt(count);
+        for (int b = resultFirstBlock; b <= resultLastBlock; b++) {
+            long block = result[b];
+            int bits = Long.bitCount(block);
+            if (k >= bits) {
+                k -= bits;
+                continue;
+            }
+            for (; k > 0; k--) {
+                block &= block - 1;
+            }
+            return words[(b << 6) + Long.numberOfTrailingZeros(block)];
+        }
+        return null;
+    }
+
+    /**
+     * Picks a random word whose first letter is not in the excluded set
+     * @param excludedFirstLetters Bit mask of first letters to avoid ('a' = bit 0)
+     * @return the word, or null when every first letter is excluded
+     */
+    public String pickWithFirstLetterNotIn(int excludedFirstLetters, Random random) {
+        int total = 0;
+        for (int letter = 0; letter < ALPHABET; letter++) {
+            if ((excludedFirstLetters & (1 << letter)) == 0) {
+                total += firstLetterIds[letter].length;
+            }
+        }
+        if (total == 0) {
+            return null;
+        }
+
+        int k = random.nextInt(total);
+        for (int letter = 0; letter < ALPHABET; letter++) {
+            if ((excludedFirstLetters & (1 << letter)) != 0) {
+                continue;
+            }
+            int[] bucket = firstLetterIds[letter];
+            if (k < bucket.length) {
+                return words[bucket[k]];
+            }
+            k -= bucket.length;
+        }
+        return null;
+    }
+
+    /**
+     * Bit mask for the first letter of a word ('a' = bit 0), or 0 if it does not start with a letter
+     */
+    public static int firstLetterMask(String word) {
+        if (word == null || word.isEmpty()) {
+            return 0;
+        }
+        int letter = letterIndex(word.charAt(0));
+        return letter >= 0 ? 1 << letter : 0;
+    }
+
+    /**
+     * Counts the words matching the query
+     */
+    public int count(Query query) {
+        return evaluate(query, 0);
+    }
+
+    // Evaluates the query into result[resultFirstBlock..resultLastBlock] and returns the match count
+    private int evaluate(Query query, int excludedFirstLetters) {
+        int lo = firstIdOfLength[Math.min(query.minLength, firstIdOfLength.length - 1)];
+        int hi = firstIdOfLength[Math.min(query.maxLength + 1, firstIdOfLength.length - 1)];
+        if (lo >= hi) {
+            return 0;
+        }
+
+        int firstBlock = lo >>> 6;
+        int lastBlock = (hi - 1) >>> 6;
+        resultFirstBlock = firstBlock;
+        resultLastBlock = lastBlock;
+
+        // Start from the id range covered by the length bounds
+        result = scratch;
+        Arrays.fill(result, firstBlock, lastBlock + 1, -1L);
+        result[firstBlock] &= -1L << (lo & 63);
+        result[lastBlock] &= -1L >>> (63 - ((hi - 1) & 63));
+
+        for (int letter = 0; letter < ALPHABET; letter++) {
+            if ((query.requiredLetters & (1 << letter)) != 0) {
+                intersect(letterBits[letter], letterIds[letter], firstBlock, lastBlock);
+            } else if ((query.excludedLetters & (1 << letter)) != 0) {
+                subtract(letterBits[letter], letterIds[letter], firstBlock, lastBlock);
+            }
+        }
+        for (int i = 0; i < query.bigramCount; i++) {
+            int bigram = query.bigrams[i];
+            intersect(bigramBits[bigram], bigramIds[bigram], firstBlock, lastBlock);
+        }
+        for (int letter = 0; letter < ALPHABET; letter++) {
+            if ((excludedFirstLetters & (1 << letter)) != 0) {
+                subtract(null, firstLetterIds[letter], firstBlock, lastBlock);
+            }
+        }
+
+        int count = 0;
+        for (int b = firstBlock; b <= lastBlock; b++) {
+            count += Long.bitCount(result[b]);
+        }
+        return count;
+    }
+
+    private void intersect(long[] dense, int[] sparse, int firstBlock, int lastBlock) {
+        if (dense != null) {
+            for (int b = firstBlock; b <= lastBlock; b++) {
+                result[b] &= dense[b];
+            }
+            return;
+        }
+
+        // Sparse posting: keep only its ids that are still in the result
+        long[] target = (result == scratch) ? scratchSwap : scratch;
+        Arrays.fill(target, firstBlock, lastBlock + 1, 0L);
+        for (int id : sparse) {
+            int b = id >>> 6;
+            if (b >= firstBlock && b <= lastBlock && (result[b] & (1L << id)) != 0) {
+                target[b] |= 1L << id;
+            }
+        }
+        result = target;
+    }
+
+    private void subtract(long[] dense, int[] sparse, int firstBlock, int lastBlock) {
+        if (dense != null) {
+            for (int b = firstBlock; b <= lastBlock; b++) {
+                result[b] &= ~dense[b];
+            }
+        } else {
+            for (int id : sparse) {
+                result[id >>> 6] &= ~(1L << id);
+            }
+        }
+    }
+
+    public int size() {
+        return words.length;
+    }
+
+    private static void setBit(long[] bits, int id) {
+        bits[id >>> 6] |= 1L << id;
+    }
+
+    private static int letterIndex(char c) {
+        char lower = Character.toLowerCase(c);
+        return (lower >= 'a' && lower <= 'z') ? lower - 'a' : -1;
+    }
+
+    /**
+     * Reusable set of constraints for {@link WordIndex#pick}
+     */
+    public static class Query {
+        private static final int MAX_BIGRAMS = 8;
+
+        private int requiredLetters;
+        private int excludedLetters;
+        private final int[] bigrams = new int[MAX_BIGRAMS];
+        private int bigramCount;
+        private int minLength = 0;
+        private int maxLength = Integer.MAX_VALUE - 1;
+
+        public Query requireLetters(String letters) {
+            for (int i = 0; i < letters.length(); i++) {
+                int letter = letterIndex(letters.charAt(i));
+                if (letter >= 0) {
+                    requiredLetters |= 1 << letter;
+                    excludedLetters &= ~(1 << letter);
+                }
+            }
+            return this;
+        }
+
+        public Query excludeLetters(String letters) {
+            for (int i = 0; i < letters.length(); i++) {
+                int letter = letterIndex(letters.charAt(i));
+                if (letter >= 0) {
+                    excludedLetters |= 1 << letter;
+                    requiredLetters &= ~(1 << letter);
+                }
+            }
+            return this;
+        }
+
+        /**
+         * Restricts words to the given letters, e.g. the ones the player has learned so far
+         */
+        public Query allowOnlyLetters(String letters) {
+            int allowed = 0;
+            for (int i = 0; i < letters.length(); i++) {
+                int letter = letterIndex(letters.charAt(i));
+                if (letter >= 0) {
+                    allowed |= 1 << letter;
+                }
+            }
+            excludedLetters = ~allowed & ((1 << ALPHABET) - 1);
+            requiredLetters &= allowed;
+            return this;
+        }
+
+        public Query requireBigram(String bigram) {
+            if (bigram.length() != 2 || bigramCount == MAX_BIGRAMS) {
+                return this;
+            }
+            int first = letterIndex(bigram.charAt(0));
+            int second = letterIndex(bigram.charAt(1));
+            if (first >= 0 && second >= 0) {
+                bigrams[bigramCount++] = first * ALPHABET + second;
+            }
+            return this;
+        }
+
+        public Query setLength(int min, int max) {
+            minLength = Math.max(0, min);
+            maxLength = Math.max(minLength, Math.min(max, Integer.MAX_VALUE - 1));
+            return this;
+        }
+
+        public Query clear() {
+            requiredLetters = 0;
+            excludedLetters = 0;
+            bigramCount = 0;
+            minLength = 0;
+            maxLength = Integer.MAX_VALUE - 1;
+            return this;
+        }
+    }
+}